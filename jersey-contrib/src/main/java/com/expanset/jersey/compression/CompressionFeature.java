@@ -0,0 +1,75 @@
+package com.expanset.jersey.compression;
+
+import java.util.zip.Deflater;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Compression of responses with gzip encoding, if client supports it.
+ * <p>Small responses are not compressed. Header 'Vary: Accept-Encoding' is added to responses, 
+ * tag of compressed response is marked by '-gzip' suffix, so caches keep compressed and 
+ * uncompressed variants separately. Conditional requests with marked tags are supported.</p>
+ * <p>Configuration parameters:</p>
+ * <ul>
+ * <li>{@link com.expanset.jersey.compression.CompressionFeature#THRESHOLD}</li>
+ * <li>{@link com.expanset.jersey.compression.CompressionFeature#LEVEL}</li>
+ * <li>{@link com.expanset.jersey.compression.CompressionFeature#POOL_SIZE}</li>
+ * </ul>
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public class CompressionFeature implements Feature {
+
+	/**
+     * {@link Integer} property defining the minimal size of response in bytes, which is compressed.
+     * <p>Default value is 1024.</p>
+	 */
+	public final static String THRESHOLD = CompressionFeature.class.getName() + ".threshold";
+
+	/**
+	 * Default value for {@link com.expanset.jersey.compression.CompressionFeature#THRESHOLD}.
+	 */
+	public final static int THRESHOLD_DEFAULT = 1024;
+	
+	/**
+     * {@link Integer} property defining the compression level (1-9).
+     * <p>Default value is 6.</p>
+	 */
+	public final static String LEVEL = CompressionFeature.class.getName() + ".level";
+
+	/**
+	 * Default value for {@link com.expanset.jersey.compression.CompressionFeature#LEVEL}.
+	 */
+	public final static int LEVEL_DEFAULT = 6;
+	
+	/**
+     * {@link Integer} property defining the maximum count of pooled {@link java.util.zip.Deflater}.
+     * <p>Default value is double count of processors.</p>
+	 */
+	public final static String POOL_SIZE = CompressionFeature.class.getName() + ".poolSize";
+	
+	/**
+	 * Supported content encoding.
+	 */
+	public final static String GZIP = "gzip";
+	
+	@Override
+	public boolean configure(FeatureContext context) {
+		context.register(CompressionInterceptor.class);
+		context.register(CompressionTagFilter.class);
+		
+		return true;
+	}
+	
+	static int getLevel(Integer level) {
+		if(level == null) {
+			return LEVEL_DEFAULT;
+		}
+		if(level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level " + level);
+		}
+		return level;
+	}
+}
@@ -0,0 +1,357 @@
+package com.expanset.jersey.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compresses response entity with gzip encoding. 
+ * Entity is buffered until threshold is reached, so small responses are written as is.
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class CompressionInterceptor implements WriterInterceptor {
+
+	@Inject
+	protected Configuration config;
+	
+	@Inject
+	protected Provider<ContainerRequestContext> requestProvider;
+	
+	protected int threshold;
+	
+	protected DeflaterPool deflaterPool;
+	
+	/**
+	 * Results of Accept-Encoding negotiation by header value.
+	 */
+	private static final ConcurrentHashMap<String, Boolean> acceptEncodings = new ConcurrentHashMap<>();
+	
+	private static final int ACCEPT_ENCODINGS_CACHE_SIZE = 1000;
+	
+	private static final String TAG_SUFFIX = "-" + CompressionFeature.GZIP;
+	
+	private static final int BUFFER_SIZE = 8192;
+	
+	private static final byte[] GZIP_HEADER = new byte[] { 
+			0x1f, (byte)0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)0xff };
+	
+	@PostConstruct
+	public void initialize() {
+		final Integer threshold = (Integer)config.getProperty(CompressionFeature.THRESHOLD);
+		this.threshold = threshold != null ? threshold : CompressionFeature.THRESHOLD_DEFAULT;
+		
+		final Integer poolSize = (Integer)config.getProperty(CompressionFeature.POOL_SIZE);
+		this.deflaterPool = new DeflaterPool(
+				CompressionFeature.getLevel((Integer)config.getProperty(CompressionFeature.LEVEL)), 
+				poolSize != null ? poolSize : Runtime.getRuntime().availableProcessors() * 2);
+	}
+	
+	@PreDestroy
+	public void destroy() {
+		deflaterPool.clear();
+	}
+	
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context) 
+			throws IOException {
+		final MultivaluedMap<String, Object> headers = context.getHeaders();
+		if(headers.containsKey(HttpHeaders.CONTENT_ENCODING) || !isCompressible(context.getMediaType())) {
+			context.proceed();
+			return;
+		}
+		
+		addVary(headers);
+		
+		if(!acceptsGzip(requestProvider.get().getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+			context.proceed();
+			return;
+		}
+		
+		final CompressingOutputStream outputStream = 
+				new CompressingOutputStream(context.getOutputStream(), headers);
+		context.setOutputStream(outputStream);
+		try {
+			context.proceed();
+			outputStream.finish();
+		} finally {
+			outputStream.release();
+		}
+	}
+	
+	/**
+	 * @param acceptEncoding Value of Accept-Encoding header or null.
+	 * @return true - gzip encoding is acceptable.
+	 */
+	public static boolean acceptsGzip(String acceptEncoding) {
+		if(StringUtils.isEmpty(acceptEncoding)) {
+			return false;
+		}
+		
+		Boolean result = acceptEncodings.get(acceptEncoding);
+		if(result == null) {
+			result = parseAcceptEncoding(acceptEncoding);
+			if(acceptEncodings.size() >= ACCEPT_ENCODINGS_CACHE_SIZE) {
+				acceptEncodings.clear();
+			}
+			acceptEncodings.put(acceptEncoding, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * @param tag Tag of uncompressed entity.
+	 * @return Tag of compressed entity.
+	 */
+	public static EntityTag toCompressedTag(EntityTag tag) {
+		return new EntityTag(tag.getValue() + TAG_SUFFIX, tag.isWeak());
+	}
+	
+	/**
+	 * @param tag Tag of entity.
+	 * @return Tag of uncompressed entity or null, if tag is not compressed entity tag.
+	 */
+	public static EntityTag fromCompressedTag(EntityTag tag) {
+		if(!tag.getValue().endsWith(TAG_SUFFIX)) {
+			return null;
+		}
+		return new EntityTag(
+				tag.getValue().substring(0, tag.getValue().length() - TAG_SUFFIX.length()), 
+				tag.isWeak());
+	}
+	
+	protected static boolean parseAcceptEncoding(String acceptEncoding) {
+		double gzipQuality = -1;
+		double anyQuality = -1;
+		for(String encoding : StringUtils.split(acceptEncoding, ',')) {
+			final String[] parameters = StringUtils.split(encoding, ';');
+			if(parameters.length == 0) {
+				continue;
+			}
+			
+			double quality = 1;
+			for(int i = 1; i < parameters.length; i++) {
+				final String parameter = parameters[i].trim();
+				if(parameter.startsWith("q=")) {
+					try {
+						quality = Double.parseDouble(parameter.substring(2));
+					} catch(NumberFormatException e) {
+						quality = 0;
+					}
+				}
+			}
+			
+			final String name = parameters[0].trim();
+			if(CompressionFeature.GZIP.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+				gzipQuality = quality;
+			} else if("*".equals(name)) {
+				anyQuality = quality;
+			}
+		}
+		return (gzipQuality >= 0 ? gzipQuality : anyQuality) > 0;
+	}
+	
+	protected boolean isCompressible(MediaType mediaType) {
+		if(mediaType == null) {
+			return true;
+		}
+		
+		// NOTE Media data and archives are compressed already.
+		final String type = mediaType.getType();
+		if("image".equalsIgnoreCase(type)) {
+			return StringUtils.containsIgnoreCase(mediaType.getSubtype(), "svg");
+		}
+		if("video".equalsIgnoreCase(type) || "audio".equalsIgnoreCase(type)) {
+			return false;
+		}
+		final String subtype = mediaType.getSubtype();
+		return !StringUtils.containsIgnoreCase(subtype, "zip") 
+				&& !StringUtils.containsIgnoreCase(subtype, "compressed");
+	}
+	
+	static void addVary(MultivaluedMap<String, Object> headers) {
+		final Object vary = headers.getFirst(HttpHeaders.VARY);
+		if(vary == null) {
+			headers.putSingle(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		} else {
+			final String value = vary.toString();
+			if(!value.contains("*") && !StringUtils.containsIgnoreCase(value, HttpHeaders.ACCEPT_ENCODING)) {
+				headers.putSingle(HttpHeaders.VARY, value + ", " + HttpHeaders.ACCEPT_ENCODING);
+			}
+		}
+	}
+	
+	/**
+	 * Buffers entity until threshold, then writes headers and compresses entity.
+	 */
+	protected class CompressingOutputStream extends OutputStream {
+		
+		protected final OutputStream outputStream;
+		
+		protected final MultivaluedMap<String, Object> headers;
+		
+		protected byte[] buffer;
+		
+		protected int count;
+		
+		protected Deflater deflater;
+		
+		protected CRC32 crc;
+		
+		protected boolean finished;
+		
+		public CompressingOutputStream(OutputStream outputStream, MultivaluedMap<String, Object> headers) {
+			this.outputStream = outputStream;
+			this.headers = headers;
+			this.buffer = new byte[Math.max(threshold, 1)];
+		}
+
+		@Override
+		public void write(int b) 
+				throws IOException {
+			write(new byte[] { (byte)b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) 
+				throws IOException {
+			if(finished) {
+				throw new IOException("Stream is closed");
+			}
+			if(deflater == null) {
+				if(count + len < buffer.length) {
+					System.arraycopy(b, off, buffer, count, len);
+					count += len;
+					return;
+				}
+				start();
+			}
+			deflate(b, off, len);
+		}
+		
+		@Override
+		public void flush() 
+				throws IOException {
+			// NOTE Buffered data is written after threshold is reached.
+			if(deflater != null && !finished) {
+				// NOTE Compressed data is flushed at the byte boundary, so client can decompress it.
+				int length;
+				do {
+					length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+					if(length > 0) {
+						outputStream.write(buffer, 0, length);
+					}
+				} while(length == buffer.length);
+				outputStream.flush();
+			}
+		}
+
+		@Override
+		public void close() 
+				throws IOException {
+			finish();
+			outputStream.close();
+		}
+		
+		/**
+		 * Writes remaining data.
+		 * @throws IOException Write error.
+		 */
+		public void finish() 
+				throws IOException {
+			if(finished) {
+				return;
+			}
+			finished = true;
+			
+			if(deflater == null) {
+				if(count > 0) {
+					outputStream.write(buffer, 0, count);
+				}
+				return;
+			}
+			
+			deflater.finish();
+			while(!deflater.finished()) {
+				final int length = deflater.deflate(buffer, 0, buffer.length);
+				if(length > 0) {
+					outputStream.write(buffer, 0, length);
+				}
+			}
+			writeInt((int)crc.getValue());
+			writeInt(deflater.getTotalIn());
+			outputStream.flush();
+		}
+		
+		/**
+		 * Returns deflater into the pool.
+		 */
+		public void release() {
+			if(deflater != null) {
+				deflaterPool.release(deflater);
+				deflater = null;
+			}
+		}
+		
+		protected void start() 
+				throws IOException {
+			headers.putSingle(HttpHeaders.CONTENT_ENCODING, CompressionFeature.GZIP);
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+			final Object tag = headers.getFirst(HttpHeaders.ETAG);
+			if(tag != null) {
+				headers.putSingle(HttpHeaders.ETAG, toCompressedTag(
+						tag instanceof EntityTag ? (EntityTag)tag : EntityTag.valueOf(tag.toString())));
+			}
+			
+			deflater = deflaterPool.acquire();
+			crc = new CRC32();
+			outputStream.write(GZIP_HEADER);
+			
+			final byte[] buffered = buffer;
+			final int bufferedCount = count;
+			buffer = new byte[Math.max(BUFFER_SIZE, buffered.length)];
+			count = 0;
+			if(bufferedCount > 0) {
+				deflate(buffered, 0, bufferedCount);
+			}
+		}
+		
+		protected void deflate(byte[] b, int off, int len) 
+				throws IOException {
+			crc.update(b, off, len);
+			deflater.setInput(b, off, len);
+			while(!deflater.needsInput()) {
+				final int length = deflater.deflate(buffer, 0, buffer.length);
+				if(length > 0) {
+					outputStream.write(buffer, 0, length);
+				}
+			}
+		}
+		
+		protected void writeInt(int value) 
+				throws IOException {
+			outputStream.write(value & 0xff);
+			outputStream.write((value >> 8) & 0xff);
+			outputStream.write((value >> 16) & 0xff);
+			outputStream.write((value >> 24) & 0xff);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.expanset.jersey.compression;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Supports conditional requests with tags of compressed responses. 
+ * Resource evaluates preconditions with tags of uncompressed entity, and response 'Not Modified' contains 
+ * tag of compressed entity, like cached response.
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+public class CompressionTagFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+	/**
+	 * Request property, which is set if request contains tags of compressed entity.
+	 */
+	public final static String COMPRESSED_TAG = CompressionTagFilter.class.getName() + ".compressedTag";
+	
+	private static final String IF_MATCH = "If-Match";
+	
+	private static final String IF_NONE_MATCH = "If-None-Match";
+	
+	@Override
+	public void filter(ContainerRequestContext requestContext) 
+			throws IOException {
+		if(replaceTags(requestContext, IF_NONE_MATCH) | replaceTags(requestContext, IF_MATCH)) {
+			requestContext.setProperty(COMPRESSED_TAG, Boolean.TRUE);
+		}
+	}
+
+	@Override
+	public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) 
+			throws IOException {
+		if(responseContext.getStatus() != Response.Status.NOT_MODIFIED.getStatusCode()
+				|| requestContext.getProperty(COMPRESSED_TAG) == null) {
+			return;
+		}
+		// NOTE Compressed entity would not be sent to this client, so its tag is not returned.
+		if(!CompressionInterceptor.acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+			return;
+		}
+		
+		final EntityTag tag = responseContext.getEntityTag();
+		if(tag != null) {
+			responseContext.getHeaders().putSingle(HttpHeaders.ETAG, CompressionInterceptor.toCompressedTag(tag));
+			CompressionInterceptor.addVary(responseContext.getHeaders());
+		}
+	}
+	
+	protected boolean replaceTags(ContainerRequestContext requestContext, String header) {
+		final List<String> values = requestContext.getHeaders().get(header);
+		if(values == null || values.isEmpty()) {
+			return false;
+		}
+		
+		boolean replaced = false;
+		final StringBuilder result = new StringBuilder();
+		for(String value : values) {
+			for(String tagValue : StringUtils.split(value, ',')) {
+				String tag = tagValue.trim();
+				if(!"*".equals(tag)) {
+					try {
+						final EntityTag uncompressedTag = 
+								CompressionInterceptor.fromCompressedTag(EntityTag.valueOf(tag));
+						if(uncompressedTag != null) {
+							tag = uncompressedTag.toString();
+							replaced = true;
+						}
+					} catch(IllegalArgumentException e) {
+						// NOTE Invalid tag is checked by resource.
+					}
+				}
+				if(result.length() > 0) {
+					result.append(", ");
+				}
+				result.append(tag);
+			}
+		}
+		
+		if(replaced) {
+			requestContext.getHeaders().putSingle(header, result.toString());
+		}
+		return replaced;
+	}
+}
@@ -0,0 +1,61 @@
+package com.expanset.jersey.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Pool of {@link java.util.zip.Deflater} without zlib header, to avoid allocation of native memory for 
+ * every response.
+ */
+public class DeflaterPool {
+
+	protected final int level;
+	
+	protected final ArrayBlockingQueue<Deflater> deflaters;
+	
+	/**
+	 * @param level Compression level.
+	 * @param size Maximum count of pooled deflaters.
+	 */
+	public DeflaterPool(int level, int size) {
+		Validate.isTrue(size > 0, "size");
+		
+		this.level = level;
+		this.deflaters = new ArrayBlockingQueue<>(size);
+	}
+	
+	/**
+	 * @return Pooled or new deflater.
+	 */
+	public Deflater acquire() {
+		final Deflater deflater = deflaters.poll();
+		return deflater != null ? deflater : new Deflater(level, true);
+	}
+
+	/**
+	 * Returns deflater into the pool. If pool is full, deflater is released.
+	 * @param deflater Deflater.
+	 */
+	public void release(@Nonnull Deflater deflater) {
+		Validate.notNull(deflater, "deflater");
+		
+		deflater.reset();
+		if(!deflaters.offer(deflater)) {
+			deflater.end();
+		}
+	}
+	
+	/**
+	 * Releases all pooled deflaters.
+	 */
+	public void clear() {
+		Deflater deflater;
+		while((deflater = deflaters.poll()) != null) {
+			deflater.end();
+		}
+	}
+}
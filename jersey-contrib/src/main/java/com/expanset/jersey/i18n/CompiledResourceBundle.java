@@ -0,0 +1,147 @@
+package com.expanset.jersey.i18n;
+
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@link ResourceBundle} with values, resolved on loading.
+ * <p>Keys of all locales are shared and mapped to dense indexes, values of parent locales are copied, so
+ * lookup is a single hash lookup without walking of parent bundles. Parsed {@link MessageFormat} patterns
+ * are cached, see {@link CompiledResourceBundle#format(String, Object...)}.</p>
+ */
+public class CompiledResourceBundle extends ResourceBundle {
+
+	protected final Map<String, Integer> keys;
+
+	protected final Object[] values;
+
+	protected final Locale locale;
+
+	protected final AtomicReferenceArray<MessageFormat> formats;
+
+	protected volatile Set<String> keySet;
+
+	/**
+	 * @param keys Shared keys of all locales with indexes.
+	 * @param values Values by key index, including values of parent locales.
+	 * @param locale Locale of the bundle.
+	 */
+	public CompiledResourceBundle(
+			@Nonnull Map<String, Integer> keys,
+			@Nonnull Object[] values,
+			@Nullable Locale locale) {
+		Validate.notNull(keys, "keys");
+		Validate.notNull(values, "values");
+		Validate.isTrue(values.length == keys.size(), "values");
+
+		this.keys = keys;
+		this.values = values;
+		this.locale = locale;
+		this.formats = new AtomicReferenceArray<>(values.length);
+	}
+
+	/**
+	 * Constructor for bundles, which provide values by overriding of {@link #getValue(int)}.
+	 * @param keys Shared keys of all locales with indexes.
+	 * @param locale Locale of the bundle.
+	 */
+	protected CompiledResourceBundle(
+			@Nonnull Map<String, Integer> keys,
+			@Nullable Locale locale) {
+		Validate.notNull(keys, "keys");
+
+		this.keys = keys;
+		this.values = null;
+		this.locale = locale;
+		this.formats = new AtomicReferenceArray<>(keys.size());
+	}
+
+	/**
+	 * Formats message with arguments.
+	 * @param key Message key.
+	 * @param arguments Message arguments, see {@link MessageFormat}.
+	 * @return Formatted message.
+	 */
+	public String format(@Nonnull String key, Object... arguments) {
+		Validate.notNull(key, "key");
+
+		final Integer index = keys.get(key);
+		final Object value = index != null ? getValue(index) : null;
+		if(!(value instanceof String)) {
+			throw new MissingResourceException(
+					"Can't find resource for bundle " + getClass().getName() + ", key " + key,
+					getClass().getName(),
+					key);
+		}
+
+		MessageFormat format = formats.get(index);
+		if(format == null) {
+			format = new MessageFormat((String)value, locale != null ? locale : Locale.ROOT);
+			formats.lazySet(index, format);
+		}
+
+		// NOTE MessageFormat is not thread safe, cloning is much cheaper than parsing of pattern.
+		return ((MessageFormat)format.clone()).format(arguments);
+	}
+
+	@Override
+	public Locale getLocale() {
+		return locale;
+	}
+
+	@Override
+	protected Object handleGetObject(String key) {
+		final Integer index = keys.get(key);
+		return index != null ? getValue(index) : null;
+	}
+
+	@Override
+	public Enumeration<String> getKeys() {
+		return Collections.enumeration(handleKeySet());
+	}
+
+	@Override
+	protected Set<String> handleKeySet() {
+		Set<String> result = keySet;
+		if(result == null) {
+			result = new HashSet<>(keys.size() * 2);
+			for(Map.Entry<String, Integer> key : keys.entrySet()) {
+				if(hasValue(key.getValue())) {
+					result.add(key.getKey());
+				}
+			}
+			result = Collections.unmodifiableSet(result);
+			keySet = result;
+		}
+		return result;
+	}
+
+	/**
+	 * @param index Key index.
+	 * @return Value of the key or null.
+	 */
+	protected Object getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * @param index Key index.
+	 * @return true if bundle contains value of the key.
+	 */
+	protected boolean hasValue(int index) {
+		return values[index] != null;
+	}
+}
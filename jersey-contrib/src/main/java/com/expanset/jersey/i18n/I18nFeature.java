@@ -5,6 +5,7 @@ import java.util.ResourceBundle;
 
 import javax.annotation.Priority;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import javax.servlet.ServletContext;
 import javax.ws.rs.ConstrainedTo;
 import javax.ws.rs.Priorities;
@@ -19,7 +20,8 @@ import javax.ws.rs.core.FeatureContext;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
-import com.expanset.hk2.i18n.PropertyResourceBundleBinder;
+import com.expanset.hk2.i18n.ResourceBundleProvider;
+import com.expanset.jersey.utils.RequestScopeMarker;
 
 /**
  * Ability to use {@link ResourceBundle} in template processing, validation messages etc. 
@@ -29,6 +31,9 @@ import com.expanset.hk2.i18n.PropertyResourceBundleBinder;
  * <li>{@link com.expanset.jersey.i18n.I18nFeature#RESOURCE_BUNDLE}</li>
  * <li>{@link com.expanset.jersey.i18n.I18nFeature#RESOURCE_BUNDLE_ENCODING}</li>
  * <li>{@link com.expanset.jersey.i18n.I18nFeature#RESOURCE_BUNDLE_TTL}</li>
+ * <li>{@link com.expanset.jersey.i18n.I18nFeature#RESOURCE_BUNDLE_BACKGROUND_RELOAD}</li>
+ * <li>{@link com.expanset.jersey.i18n.I18nFeature#RESOURCE_BUNDLE_STORE}</li>
+ * <li>{@link com.expanset.jersey.i18n.I18nFeature#SUPPORTED_LOCALES}</li>
  * </ul>
  */
 @ConstrainedTo(RuntimeType.SERVER)
@@ -63,12 +68,33 @@ public class I18nFeature implements Feature {
 	 */
 	public final static long RESOURCE_BUNDLE_TTL_DEFAULT = 1000 * 60;
 
+	/**
+     * {@link Boolean} property enables reloading of resources in background thread, so request threads never wait 
+     * for reloading. Files are checked with interval {@link com.expanset.jersey.i18n.I18nFeature#RESOURCE_BUNDLE_TTL}.
+     * <p>Default value is {@code false}.</p>
+	 */
+	public final static String RESOURCE_BUNDLE_BACKGROUND_RELOAD = I18nFeature.class.getName() + ".resourceBundleBackgroundReload";
+	
+	/**
+     * {@link String} property defining the path of file, where resources of all locales are compiled to. File is 
+     * memory mapped, so resources are not kept in heap.
+     * <p>There is no default value, resources are kept in heap.</p>
+	 */
+	public final static String RESOURCE_BUNDLE_STORE = I18nFeature.class.getName() + ".resourceBundleStore";
+	
 	/**
      * {@link String} property defines language name for locale.
      * <p>Default value loaded from HTTP header "Accept-Language".</p>
 	 */			
 	public final static String DEFAULT_LOCALE = I18nFeature.class + ".defaultLocale";
 	
+	/**
+     * {@link String} property defines comma separated language tags of locales, supported by application
+     * (for example {@code en,ru-RU}). Locale from HTTP header "Accept-Language" is negotiated with them.
+     * <p>By default any locale is accepted.</p>
+	 */
+	public final static String SUPPORTED_LOCALES = I18nFeature.class.getName() + ".supportedLocales";
+	
 	/**
 	 * {@link Boolean} property flags to use cookie as locale store.
 	 */
@@ -109,6 +135,7 @@ public class I18nFeature implements Feature {
 		}
 		
 		registerResourceBundleBinder(context, fileName, timeToLive, encoding);
+		RequestScopeMarker.register(context);
 		
 		final Boolean useLocaleCookie = 
 				(Boolean)config.getProperty(USE_LOCALE_COOKIE);		
@@ -121,18 +148,38 @@ public class I18nFeature implements Feature {
 		return true;
 	}
 	
+	/**
+	 * Registers provider of resources. 
+	 * <p>By default resources are compiled and provided by {@link ReloadingResourceBundleProvider} in both modes of
+	 * {@link com.expanset.jersey.i18n.I18nFeature#RESOURCE_BUNDLE_BACKGROUND_RELOAD}, provider reads the same 
+	 * parameters from configuration. Override to register other binder, for example 
+	 * {@link com.expanset.hk2.i18n.PropertyResourceBundleBinder}.</p>
+	 * @param context Feature context.
+	 * @param fullFileName Real path of resource file (without language suffix and file extension).
+	 * @param timeToLive Interval of file checks, milliseconds.
+	 * @param encoding Encoding of properties file.
+	 */
 	protected void registerResourceBundleBinder(
 			FeatureContext context, 
 			String fullFileName,
 			Long timeToLive, 
 			String encoding) {
-		context.register(new PropertyResourceBundleBinder(fullFileName, timeToLive, encoding) {
+		registerReloadingResourceBundleProvider(context);
+	} 
+	
+	protected void registerReloadingResourceBundleProvider(FeatureContext context) {
+		context.register(new AbstractBinder() {
 			@Override
-			protected void bindLocaleManager() {			
-				// Do nothing. Register locale manager in feature.
-			}			
+			protected void configure() {
+				bind(ReloadingResourceBundleProvider.class)
+					.to(ReloadingResourceBundleProvider.class)
+					.to(ResourceBundleProvider.class)
+					.in(Singleton.class)
+					.ranked(1);
+			}
 		});
-	} 
+		context.register(ReloadingResourceBundleProvider.Starter.class);
+	}
 	
 	protected void registerRequestScopeLocale(FeatureContext context) {
 		context.register(RequestScopeLocaleFilter.class);
@@ -0,0 +1,306 @@
+package com.expanset.jersey.i18n;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Resources of all locales, compiled into the one binary file, which is memory mapped.
+ * <p>File contains shared table of keys, table of value offsets and modification time of the source for every 
+ * locale and UTF-8 encoded values. Values of parent locales are resolved on compilation, equal values are stored 
+ * once. Values are decoded from the mapped file on the first lookup, so only used values are kept in heap. 
+ * Decoded values are shared by bundles of all locales, so value inherited from parent locale is kept once.</p>
+ * <p>Locales are identified by suffix of file name, for example {@code _ru_RU} or empty string for
+ * default resources.</p>
+ */
+public class MappedResourceStore {
+
+	private final static int MAGIC = 0x45585242;
+
+	private final static int VERSION = 2;
+
+	protected final Map<String, ResourceBundle> bundles;
+
+	protected final Map<String, Long> lastModified;
+
+	protected MappedResourceStore(Map<String, ResourceBundle> bundles, Map<String, Long> lastModified) {
+		this.bundles = bundles;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * Compiles resources into the binary file.
+	 * @param resources Resources by locale suffix.
+	 * @param file File to write.
+	 * @throws IOException Write error.
+	 */
+	public static void compile(@Nonnull Map<String, Map<String, Object>> resources, @Nonnull Path file)
+			throws IOException {
+		compile(resources, Collections.emptyMap(), file);
+	}
+
+	/**
+	 * Compiles resources into the binary file.
+	 * @param resources Resources by locale suffix.
+	 * @param lastModified Modification time of the source of resources by locale suffix, stored to check 
+	 * whether compiled file is up to date, see {@link #getLastModified()}.
+	 * @param file File to write.
+	 * @throws IOException Write error.
+	 */
+	public static void compile(
+			@Nonnull Map<String, Map<String, Object>> resources, 
+			@Nonnull Map<String, Long> lastModified, 
+			@Nonnull Path file)
+			throws IOException {
+		Validate.notNull(resources, "resources");
+		Validate.notNull(lastModified, "lastModified");
+		Validate.notNull(file, "file");
+
+		final Set<String> keySet = new TreeSet<>();
+		for(Map<String, Object> values : resources.values()) {
+			keySet.addAll(values.keySet());
+		}
+		final List<String> keys = new ArrayList<>(keySet);
+		final Map<String, Integer> keyIndexes = new HashMap<>(keys.size() * 2);
+		for(String key : keys) {
+			keyIndexes.put(key, keyIndexes.size());
+		}
+
+		// NOTE Parents are shorter, so they are resolved first.
+		final List<String> suffixes = new ArrayList<>(resources.keySet());
+		suffixes.sort((a, b) -> a.length() != b.length() ? a.length() - b.length() : a.compareTo(b));
+
+		final ByteArrayOutputStream strings = new ByteArrayOutputStream();
+		final Map<String, int[]> stringOffsets = new HashMap<>();
+		final Map<String, int[]> tables = new HashMap<>();
+		for(String suffix : suffixes) {
+			final int[] parentTable = findParent(tables, suffix);
+			final int[] table = parentTable != null ? parentTable.clone() : newTable(keys.size());
+			for(Map.Entry<String, Object> value : resources.get(suffix).entrySet()) {
+				final String stringValue = value.getValue() != null ? value.getValue().toString() : null;
+				if(stringValue == null) {
+					continue;
+				}
+				int[] offset = stringOffsets.get(stringValue);
+				if(offset == null) {
+					final byte[] bytes = stringValue.getBytes(StandardCharsets.UTF_8);
+					offset = new int[] { strings.size(), bytes.length };
+					strings.write(bytes);
+					stringOffsets.put(stringValue, offset);
+				}
+				final int index = keyIndexes.get(value.getKey());
+				table[index * 2] = offset[0];
+				table[index * 2 + 1] = offset[1];
+			}
+			tables.put(suffix, table);
+		}
+
+		try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(keys.size());
+			for(String key : keys) {
+				writeString(output, key);
+			}
+			output.writeInt(suffixes.size());
+			for(String suffix : suffixes) {
+				writeString(output, suffix);
+				final Long suffixLastModified = lastModified.get(suffix);
+				output.writeLong(suffixLastModified != null ? suffixLastModified : 0);
+				for(int item : tables.get(suffix)) {
+					output.writeInt(item);
+				}
+			}
+			output.writeInt(strings.size());
+			strings.writeTo(output);
+		}
+	}
+
+	/**
+	 * Maps compiled file.
+	 * @param file Compiled file.
+	 * @return Resources from file.
+	 * @throws IOException Read error or invalid file format.
+	 */
+	public static MappedResourceStore open(@Nonnull Path file)
+			throws IOException {
+		Validate.notNull(file, "file");
+
+		final MappedByteBuffer buffer;
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+			throw new IOException("Invalid format of compiled resources " + file);
+		}
+
+		final int keyCount = buffer.getInt();
+		final Map<String, Integer> keys = new HashMap<>(keyCount * 2);
+		for(int i = 0; i < keyCount; i++) {
+			keys.put(readString(buffer), i);
+		}
+		final Map<String, Integer> sharedKeys = Collections.unmodifiableMap(keys);
+
+		final int localeCount = buffer.getInt();
+		final Map<String, Integer> tablePositions = new HashMap<>(localeCount * 2);
+		final Map<String, Long> lastModified = new HashMap<>(localeCount * 2);
+		for(int i = 0; i < localeCount; i++) {
+			final String suffix = readString(buffer);
+			lastModified.put(suffix, buffer.getLong());
+			tablePositions.put(suffix, buffer.position());
+			buffer.position(buffer.position() + keyCount * 8);
+		}
+
+		buffer.getInt();
+		final int stringsPosition = buffer.position();
+
+		final ConcurrentHashMap<Integer, String> decodedStrings = new ConcurrentHashMap<>();
+		final Map<String, ResourceBundle> bundles = new HashMap<>(localeCount * 2);
+		for(Map.Entry<String, Integer> table : tablePositions.entrySet()) {
+			bundles.put(table.getKey(), new MappedResourceBundle(
+					buffer, sharedKeys, table.getValue(), stringsPosition, decodedStrings, toLocale(table.getKey())));
+		}
+
+		return new MappedResourceStore(
+				Collections.unmodifiableMap(bundles), 
+				Collections.unmodifiableMap(lastModified));
+	}
+
+	/**
+	 * @return Resources by locale suffix.
+	 */
+	public Map<String, ResourceBundle> getBundles() {
+		return bundles;
+	}
+
+	/**
+	 * @return Modification time of the source of resources by locale suffix, passed on compilation.
+	 */
+	public Map<String, Long> getLastModified() {
+		return lastModified;
+	}
+
+	protected static int[] findParent(Map<String, int[]> tables, String suffix) {
+		String parentSuffix = suffix;
+		while(!parentSuffix.isEmpty()) {
+			parentSuffix = parentSuffix.substring(0, parentSuffix.lastIndexOf('_'));
+			final int[] table = tables.get(parentSuffix);
+			if(table != null) {
+				return table;
+			}
+		}
+		return null;
+	}
+
+	protected static int[] newTable(int keyCount) {
+		final int[] table = new int[keyCount * 2];
+		for(int i = 0; i < table.length; i += 2) {
+			table[i] = -1;
+		}
+		return table;
+	}
+
+	protected static Locale toLocale(String suffix) {
+		final String[] parts = StringUtils.split(suffix, '_');
+		return new Locale(
+				parts.length > 0 ? parts[0] : StringUtils.EMPTY,
+				parts.length > 1 ? parts[1] : StringUtils.EMPTY,
+				parts.length > 2 ? parts[2] : StringUtils.EMPTY);
+	}
+
+	private static void writeString(DataOutputStream output, String value)
+			throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Resources of the one locale, values are decoded from the mapped file on the first lookup.
+	 */
+	protected static class MappedResourceBundle extends CompiledResourceBundle {
+
+		protected final ByteBuffer buffer;
+
+		protected final int tablePosition;
+
+		protected final int stringsPosition;
+
+		/**
+		 * Decoded values by offset in the file, shared by bundles of all locales.
+		 */
+		protected final ConcurrentHashMap<Integer, String> decodedStrings;
+
+		public MappedResourceBundle(
+				ByteBuffer buffer,
+				Map<String, Integer> keys,
+				int tablePosition,
+				int stringsPosition,
+				ConcurrentHashMap<Integer, String> decodedStrings,
+				Locale locale) {
+			super(keys, locale);
+
+			this.buffer = buffer;
+			this.tablePosition = tablePosition;
+			this.stringsPosition = stringsPosition;
+			this.decodedStrings = decodedStrings;
+		}
+
+		@Override
+		protected Object getValue(int index) {
+			// NOTE Absolute reads do not change buffer state, so buffer is shared between threads.
+			final int offset = buffer.getInt(tablePosition + index * 8);
+			if(offset < 0) {
+				return null;
+			}
+			String value = decodedStrings.get(offset);
+			if(value == null) {
+				final byte[] bytes = new byte[buffer.getInt(tablePosition + index * 8 + 4)];
+				final ByteBuffer source = buffer.duplicate();
+				source.position(stringsPosition + offset);
+				source.get(bytes);
+				value = new String(bytes, StandardCharsets.UTF_8);
+				final String decodedValue = decodedStrings.putIfAbsent(offset, value);
+				if(decodedValue != null) {
+					value = decodedValue;
+				}
+			}
+			return value;
+		}
+
+		@Override
+		protected boolean hasValue(int index) {
+			return buffer.getInt(tablePosition + index * 8) >= 0;
+		}
+	}
+}
@@ -0,0 +1,400 @@
+package com.expanset.jersey.i18n;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.servlet.ServletContext;
+import javax.ws.rs.core.Configuration;
+
+import org.apache.commons.lang3.StringUtils;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.expanset.hk2.i18n.ResourceBundleProvider;
+
+/**
+ * Provider of resources from properties files, compiled to {@link CompiledResourceBundle}.
+ * <p>Files are checked with interval {@link I18nFeature#RESOURCE_BUNDLE_TTL}, only changed files are reread.
+ * If {@link I18nFeature#RESOURCE_BUNDLE_BACKGROUND_RELOAD} is set, files are checked in background thread and 
+ * request threads never wait for reloading, otherwise files are checked by the request thread, which is the first 
+ * after interval expiration.</p>
+ * <p>If {@link I18nFeature#RESOURCE_BUNDLE_STORE} is defined, resources are compiled into the memory mapped 
+ * file, see {@link MappedResourceStore}.</p>
+ */
+public class ReloadingResourceBundleProvider implements ResourceBundleProvider {
+
+	protected final Path basePath;
+
+	protected final Charset encoding;
+
+	protected final long checkInterval;
+
+	protected final Path storePath;
+
+	protected final boolean backgroundReload;
+
+	protected final AtomicBoolean checking = new AtomicBoolean();
+
+	protected volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	protected volatile long lastReloadTime;
+
+	protected volatile long lastCheckTime;
+
+	protected volatile long lastReloadDuration;
+
+	protected ScheduledExecutorService executor;
+
+	private final static String FILE_EXTENSION = ".properties";
+
+	/**
+	 * Maximum count of locales, for which bundles are remembered.
+	 */
+	private final static int BUNDLES_BY_LOCALE_CACHE_SIZE = 1000;
+
+	private final static Logger log = LoggerFactory.getLogger(ReloadingResourceBundleProvider.class);
+
+	@Inject
+	public ReloadingResourceBundleProvider(Configuration webConfig, ServletContext servletContext) {
+		final String fileName = (String)webConfig.getProperty(I18nFeature.RESOURCE_BUNDLE);
+
+		String encoding = (String)webConfig.getProperty(I18nFeature.RESOURCE_BUNDLE_ENCODING);
+		if(encoding == null) {
+			encoding = I18nFeature.RESOURCE_BUNDLE_ENCODING_DEFAULT;
+		}
+
+		Long checkInterval = (Long)webConfig.getProperty(I18nFeature.RESOURCE_BUNDLE_TTL);
+		if(checkInterval == null) {
+			checkInterval = I18nFeature.RESOURCE_BUNDLE_TTL_DEFAULT;
+		}
+
+		this.basePath = Paths.get(servletContext.getRealPath(fileName));
+		this.encoding = Charset.forName(encoding);
+		this.checkInterval = checkInterval;
+
+		final String storeFileName = (String)webConfig.getProperty(I18nFeature.RESOURCE_BUNDLE_STORE);
+		this.storePath = StringUtils.isNotEmpty(storeFileName) ? Paths.get(storeFileName) : null;
+
+		final Boolean backgroundReload = (Boolean)webConfig.getProperty(I18nFeature.RESOURCE_BUNDLE_BACKGROUND_RELOAD);
+		this.backgroundReload = backgroundReload != null && backgroundReload.booleanValue();
+	}
+
+	@PostConstruct
+	public void start() {
+		reload();
+
+		if(backgroundReload && checkInterval > 0) {
+			executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				final Thread thread = new Thread(runnable, ReloadingResourceBundleProvider.class.getSimpleName());
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.scheduleWithFixedDelay(this::reload, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		if(executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	@Override
+	public ResourceBundle get(Locale locale) {
+		if(!backgroundReload 
+				&& checkInterval > 0 
+				&& System.currentTimeMillis() - lastCheckTime >= checkInterval
+				// NOTE Other request threads use current resources while files are checked.
+				&& checking.compareAndSet(false, true)) {
+			try {
+				reload();
+			} finally {
+				checking.set(false);
+			}
+		}
+		return snapshot.get(locale);
+	}
+
+	/**
+	 * @return Time of the last reload (milliseconds since epoch), or 0 if resources were not loaded.
+	 */
+	public long getLastReloadTime() {
+		return lastReloadTime;
+	}
+
+	/**
+	 * @return Duration of the last reload in milliseconds.
+	 */
+	public long getLastReloadDuration() {
+		return lastReloadDuration;
+	}
+
+	/**
+	 * Rereads changed files and publishes new resources.
+	 */
+	public synchronized void reload() {
+		final long started = System.currentTimeMillis();
+		lastCheckTime = started;
+		try {
+			final Snapshot current = snapshot;
+			final Map<String, ResourceFile> files = new HashMap<>();
+			final Map<String, Path> paths = new HashMap<>();
+			boolean changed = false;
+
+			final String prefix = basePath.getFileName().toString();
+			try(DirectoryStream<Path> stream = Files.newDirectoryStream(basePath.getParent(), prefix + "*" + FILE_EXTENSION)) {
+				for(Path path : stream) {
+					final String fileName = path.getFileName().toString();
+					final String suffix = fileName.substring(prefix.length(), fileName.length() - FILE_EXTENSION.length());
+					if(!suffix.isEmpty() && suffix.charAt(0) != '_') {
+						continue;
+					}
+
+					final long lastModified = Files.getLastModifiedTime(path).toMillis();
+					final ResourceFile previous = current.files.get(suffix);
+					if(previous != null && previous.lastModified == lastModified) {
+						files.put(suffix, previous);
+					} else {
+						// NOTE Values of mapped resources are not kept in heap.
+						files.put(suffix, new ResourceFile(lastModified, storePath == null ? load(path) : null));
+						changed = true;
+					}
+					paths.put(suffix, path);
+				}
+			}
+
+			if(changed || files.size() != current.files.size()) {
+				snapshot = storePath != null ? 
+						createMappedSnapshot(files, paths, current == Snapshot.EMPTY) : new Snapshot(files);
+				lastReloadTime = started;
+				lastReloadDuration = System.currentTimeMillis() - started;
+				log.debug("Resources {} reloaded in {} ms", basePath, lastReloadDuration);
+			}
+		} catch (Throwable e) {
+			log.error("Unable to reload resources {}", basePath, e);
+		}
+	}
+
+	protected Snapshot createMappedSnapshot(
+			Map<String, ResourceFile> files, 
+			Map<String, Path> paths, 
+			boolean startup)
+			throws IOException {
+		final Map<String, Long> lastModified = new HashMap<>(files.size() * 2);
+		for(Map.Entry<String, ResourceFile> file : files.entrySet()) {
+			lastModified.put(file.getKey(), file.getValue().lastModified);
+		}
+
+		// NOTE Compiled file is used on startup without compilation, if it was compiled from the same sources.
+		if(startup && Files.exists(storePath)) {
+			try {
+				final MappedResourceStore store = MappedResourceStore.open(storePath);
+				if(store.getLastModified().equals(lastModified)) {
+					return new Snapshot(files, store.getBundles());
+				}
+			} catch (IOException e) {
+				log.warn("Unable to use compiled resources {}, resources are compiled again", storePath, e);
+			}
+		}
+
+		final Map<String, Map<String, Object>> resources = new HashMap<>();
+		for(Map.Entry<String, Path> path : paths.entrySet()) {
+			resources.put(path.getKey(), load(path.getValue()));
+		}
+
+		final Path tempPath = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+		MappedResourceStore.compile(resources, lastModified, tempPath);
+		Files.move(tempPath, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		return new Snapshot(files, MappedResourceStore.open(storePath).getBundles());
+	}
+
+	protected Map<String, Object> load(Path path)
+			throws IOException {
+		final Properties properties = new Properties();
+		try(Reader reader = Files.newBufferedReader(path, encoding)) {
+			properties.load(reader);
+		}
+
+		final Map<String, Object> values = new HashMap<>(properties.size() * 2);
+		for(String key : properties.stringPropertyNames()) {
+			values.put(key, properties.getProperty(key));
+		}
+		return values;
+	}
+
+	/**
+	 * Creates provider on application start, so resources are loaded before the first request.
+	 */
+	public static class Starter implements ApplicationEventListener {
+
+		@Inject
+		protected Provider<ReloadingResourceBundleProvider> provider;
+
+		@Override
+		public void onEvent(ApplicationEvent event) {
+			if(event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED) {
+				provider.get();
+			}
+		}
+
+		@Override
+		public RequestEventListener onRequest(RequestEvent requestEvent) {
+			return null;
+		}
+	}
+
+	/**
+	 * Content of the one properties file.
+	 */
+	protected static class ResourceFile {
+
+		protected final long lastModified;
+
+		protected final Map<String, Object> values;
+
+		public ResourceFile(long lastModified, Map<String, Object> values) {
+			this.lastModified = lastModified;
+			this.values = values;
+		}
+	}
+
+	/**
+	 * Immutable set of loaded resources.
+	 */
+	protected static class Snapshot {
+
+		public final static Snapshot EMPTY = new Snapshot(Collections.emptyMap());
+
+		protected final static ResourceBundle EMPTY_BUNDLE = 
+				new CompiledResourceBundle(Collections.emptyMap(), new Object[0], Locale.ROOT);
+
+		protected final Map<String, ResourceFile> files;
+
+		protected final Map<String, ResourceBundle> bundles;
+
+		protected final ConcurrentHashMap<Locale, ResourceBundle> bundlesByLocale = new ConcurrentHashMap<>();
+
+		public Snapshot(Map<String, ResourceFile> files) {
+			this(files, compile(files));
+		}
+
+		public Snapshot(Map<String, ResourceFile> files, Map<String, ResourceBundle> bundles) {
+			this.files = files;
+			this.bundles = bundles;
+		}
+
+		public ResourceBundle get(Locale locale) {
+			if(locale == null) {
+				locale = Locale.ROOT;
+			}
+
+			ResourceBundle bundle = bundlesByLocale.get(locale);
+			if(bundle == null) {
+				bundle = findBundle(locale);
+				if(bundlesByLocale.size() >= BUNDLES_BY_LOCALE_CACHE_SIZE) {
+					// NOTE Protection from the random locales in requests, common locales will be cached again.
+					bundlesByLocale.clear();
+				}
+				bundlesByLocale.putIfAbsent(locale, bundle);
+			}
+			return bundle;
+		}
+
+		protected ResourceBundle findBundle(Locale locale) {
+			String suffix = StringUtils.EMPTY;
+			if(StringUtils.isNotEmpty(locale.getLanguage())) {
+				suffix = "_" + locale.getLanguage();
+				if(StringUtils.isNotEmpty(locale.getCountry())) {
+					suffix += "_" + locale.getCountry();
+					if(StringUtils.isNotEmpty(locale.getVariant())) {
+						suffix += "_" + locale.getVariant();
+					}
+				}
+			}
+
+			while(true) {
+				final ResourceBundle bundle = bundles.get(suffix);
+				if(bundle != null) {
+					return bundle;
+				}
+				if(suffix.isEmpty()) {
+					return EMPTY_BUNDLE;
+				}
+				suffix = suffix.substring(0, suffix.lastIndexOf('_'));
+			}
+		}
+
+		protected static Map<String, ResourceBundle> compile(Map<String, ResourceFile> files) {
+			// NOTE Keys of all files with indexes, shared by all bundles.
+			final Map<String, Integer> keys = new HashMap<>();
+			for(ResourceFile file : files.values()) {
+				for(String key : file.values.keySet()) {
+					keys.putIfAbsent(key, keys.size());
+				}
+			}
+
+			final Map<String, ResourceBundle> bundles = new HashMap<>();
+			for(String suffix : files.keySet()) {
+				compileBundle(suffix, files, keys, bundles);
+			}
+			return bundles;
+		}
+
+		protected static CompiledResourceBundle compileBundle(
+				String suffix, 
+				Map<String, ResourceFile> files, 
+				Map<String, Integer> keys, 
+				Map<String, ResourceBundle> bundles) {
+			CompiledResourceBundle bundle = (CompiledResourceBundle)bundles.get(suffix);
+			if(bundle == null) {
+				final ResourceFile file = files.get(suffix);
+				if(file == null) {
+					return null;
+				}
+				CompiledResourceBundle parent = null;
+				String parentSuffix = suffix;
+				while(parent == null && !parentSuffix.isEmpty()) {
+					parentSuffix = parentSuffix.substring(0, parentSuffix.lastIndexOf('_'));
+					parent = compileBundle(parentSuffix, files, keys, bundles);
+				}
+
+				// NOTE Values of parent are copied, so lookup does not walk parents.
+				final Object[] values = parent != null ? parent.values.clone() : new Object[keys.size()];
+				for(Map.Entry<String, Object> value : file.values.entrySet()) {
+					values[keys.get(value.getKey())] = value.getValue();
+				}
+				bundle = new CompiledResourceBundle(keys, values, MappedResourceStore.toLocale(suffix));
+				bundles.put(suffix, bundle);
+			}
+			return bundle;
+		}
+	}
+}
@@ -86,13 +86,9 @@ public class RequestScopeLocaleFromCookieManager extends RequestScopeLocaleManag
 			localeValue = localeCookie.getValue();
 		}
 		
-		Locale requestLocale = null;
-		if(StringUtils.isNotEmpty(localeValue)) {
-			try {
-				requestLocale = new Locale(localeValue);
-			} catch (Throwable e) {
-				log.error("Invalid locale {}", localeValue, e);
-			}
+		final Locale requestLocale = supportedLocales.resolve(localeValue);
+		if(requestLocale == null && StringUtils.isNotEmpty(localeValue)) {
+			log.debug("Unsupported locale {}", localeValue);
 		}		
 		
 		if(requestLocale != null) {
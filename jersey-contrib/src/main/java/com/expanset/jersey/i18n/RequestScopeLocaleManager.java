@@ -1,6 +1,5 @@
 package com.expanset.jersey.i18n;
 
-import java.util.List;
 import java.util.Locale;
 
 import javax.annotation.Nonnull;
@@ -9,13 +8,14 @@ import javax.inject.Provider;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
-import javax.ws.rs.core.MultivaluedMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.jvnet.hk2.annotations.Contract;
 import org.jvnet.hk2.annotations.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.expanset.hk2.i18n.ThreadScopeLocaleManager;
 import com.expanset.jersey.utils.RequestScopeUtils;
@@ -31,18 +31,27 @@ public class RequestScopeLocaleManager extends ThreadScopeLocaleManager {
 
 	protected final Locale defaultLocale;
 	
+	protected final SupportedLocales supportedLocales;
+	
 	@Inject
 	protected Provider<ContainerRequestContext> requestProvider; 
 
 	@Inject
 	protected RequestScope requestScope;	
 	
+	private final static Logger log = LoggerFactory.getLogger(RequestScopeLocaleManager.class);	
+	
 	@Inject
 	public RequestScopeLocaleManager(Configuration webConfig) {
+		this.supportedLocales = SupportedLocales.fromConfig(webConfig);
+		
 		final String defaultLocaleLanguage = 
 				(String)webConfig.getProperty(I18nFeature.DEFAULT_LOCALE);
-		this.defaultLocale = StringUtils.isNotEmpty(defaultLocaleLanguage) ? 
-				new Locale(defaultLocaleLanguage) : null;
+		// NOTE Default locale is resolved to the canonical instance, so caches keyed by locale are effective.
+		this.defaultLocale = supportedLocales.resolve(defaultLocaleLanguage);
+		if(this.defaultLocale == null && StringUtils.isNotEmpty(defaultLocaleLanguage)) {
+			log.warn("Unsupported default locale {}", defaultLocaleLanguage);
+		}
 	}	
 	
 	public void intializeCurrentRequest() {
@@ -82,18 +91,13 @@ public class RequestScopeLocaleManager extends ThreadScopeLocaleManager {
 		
 		Locale currentLocale = defaultLocale;
 		if(currentLocale == null) {
-			currentLocale = request.getLanguage();
+			final Locale requestLocale = request.getLanguage();
+			if(requestLocale != null) {
+				currentLocale = supportedLocales.resolve(requestLocale.toLanguageTag());
+			}
 		}
 		if(currentLocale == null) {
-			final MultivaluedMap<String, String> headers = request.getHeaders();
-			final List<String> langs = headers.get(HttpHeaders.ACCEPT_LANGUAGE);
-			if(langs != null && langs.size() > 0) {
-				try {
-					currentLocale = new Locale(langs.get(0));
-				} catch (Throwable e) {	
-					// Do nothing
-				}
-			}
+			currentLocale = supportedLocales.negotiate(request.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE));
 		}
 		
 		return currentLocale != null ? currentLocale : Locale.getDefault();
@@ -0,0 +1,106 @@
+package com.expanset.jersey.i18n;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Formats messages of the {@link ResourceBundle} with arguments, see {@link MessageFormat}.
+ * <p>Messages of {@link CompiledResourceBundle} are formatted with formats, cached by bundle. Formats of
+ * other bundles are cached by pattern and locale.</p>
+ */
+public class ResourceFormatter {
+
+	protected final ResourceBundle bundle;
+
+	/**
+	 * Maximum count of cached formats of not compiled bundles.
+	 */
+	private final static int FORMATS_CACHE_SIZE = 1000;
+
+	private final static ConcurrentHashMap<FormatKey, MessageFormat> formats = new ConcurrentHashMap<>();
+
+	/**
+	 * @param bundle Resources to format.
+	 */
+	public ResourceFormatter(@Nonnull ResourceBundle bundle) {
+		Validate.notNull(bundle, "bundle");
+
+		this.bundle = bundle;
+	}
+
+	/**
+	 * Formats message with arguments.
+	 * @param key Message key.
+	 * @param arguments Message arguments, see {@link MessageFormat}.
+	 * @return Formatted message.
+	 */
+	public String format(@Nonnull String key, Object... arguments) {
+		return format(bundle, key, arguments);
+	}
+
+	/**
+	 * Formats message with arguments.
+	 * @param bundle Resources.
+	 * @param key Message key.
+	 * @param arguments Message arguments, see {@link MessageFormat}.
+	 * @return Formatted message.
+	 */
+	public static String format(@Nonnull ResourceBundle bundle, @Nonnull String key, Object... arguments) {
+		Validate.notNull(bundle, "bundle");
+		Validate.notNull(key, "key");
+
+		if(bundle instanceof CompiledResourceBundle) {
+			return ((CompiledResourceBundle)bundle).format(key, arguments);
+		}
+
+		final FormatKey formatKey = new FormatKey(bundle.getString(key), bundle.getLocale());
+		MessageFormat format = formats.get(formatKey);
+		if(format == null) {
+			format = new MessageFormat(formatKey.pattern, formatKey.locale);
+			if(formats.size() >= FORMATS_CACHE_SIZE) {
+				formats.clear();
+			}
+			formats.put(formatKey, format);
+		}
+
+		// NOTE MessageFormat is not thread safe, cloning is much cheaper than parsing of pattern.
+		return ((MessageFormat)format.clone()).format(arguments);
+	}
+
+	protected static class FormatKey {
+
+		protected final String pattern;
+
+		protected final Locale locale;
+
+		public FormatKey(@Nonnull String pattern, @Nullable Locale locale) {
+			this.pattern = pattern;
+			this.locale = locale != null ? locale : Locale.ROOT;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(pattern, locale);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof FormatKey)) {
+				return false;
+			}
+			final FormatKey other = (FormatKey)obj;
+			return pattern.equals(other.pattern) && locale.equals(other.locale);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.expanset.jersey.i18n;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.Configuration;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Locales, supported by application.
+ * <p>Negotiates locale by HTTP header "Accept-Language" (RFC 4647 lookup). Result of negotiation is 
+ * cached by header value, so usual request requires single hash lookup.</p>
+ * <p>Locales are resolved to canonical instances, so caches keyed by locale are effective.</p>
+ */
+public class SupportedLocales {
+
+	/**
+	 * Maximum count of cached header values.
+	 */
+	public final static int CACHE_SIZE_DEFAULT = 1000;
+	
+	protected final List<Locale> locales;
+
+	protected final int cacheSize;
+	
+	/**
+	 * Supported locales by language tag and language (lower case).
+	 */
+	protected final Map<String, Locale> byTag;
+	
+	protected final ConcurrentHashMap<String, Optional<Locale>> negotiated = new ConcurrentHashMap<>();
+	
+	protected final ConcurrentHashMap<String, Optional<Locale>> resolved = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param locales Supported locales. If empty, any locale from header is accepted.
+	 * @param cacheSize Maximum count of cached header values.
+	 */
+	public SupportedLocales(@Nonnull Collection<Locale> locales, int cacheSize) {
+		Validate.notNull(locales, "locales");
+		Validate.isTrue(cacheSize > 0, "cacheSize");
+		
+		final Map<String, Locale> byTag = new HashMap<>(locales.size() * 4);
+		for(Locale locale : locales) {
+			byTag.putIfAbsent(locale.getLanguage(), locale);
+		}
+		for(Locale locale : locales) {
+			byTag.put(locale.toLanguageTag().toLowerCase(Locale.ROOT), locale);
+		}
+		
+		this.locales = Collections.unmodifiableList(new ArrayList<>(locales));
+		this.byTag = Collections.unmodifiableMap(byTag);
+		this.cacheSize = cacheSize;
+	}
+	
+	/**
+	 * Creates supported locales from {@link I18nFeature#SUPPORTED_LOCALES} property.
+	 * @param config Jersey configuration.
+	 * @return Supported locales.
+	 */
+	public static SupportedLocales fromConfig(@Nonnull Configuration config) {
+		Validate.notNull(config, "config");
+		
+		final List<Locale> locales = new ArrayList<>();
+		final String supportedLocales = (String)config.getProperty(I18nFeature.SUPPORTED_LOCALES);
+		if(StringUtils.isNotEmpty(supportedLocales)) {
+			for(String languageTag : StringUtils.split(supportedLocales, ", ")) {
+				locales.add(Locale.forLanguageTag(languageTag));
+			}
+		}
+		
+		return new SupportedLocales(locales, CACHE_SIZE_DEFAULT);
+	}
+	
+	/**
+	 * @return Supported locales, empty if any locale is accepted.
+	 */
+	public List<Locale> getLocales() {
+		return locales;
+	}
+	
+	/**
+	 * Finds the best locale for value of HTTP header "Accept-Language".
+	 * @param acceptLanguage Value of HTTP header "Accept-Language".
+	 * @return Best locale or null if there is no acceptable locale.
+	 */
+	public Locale negotiate(@Nullable String acceptLanguage) {
+		if(StringUtils.isEmpty(acceptLanguage)) {
+			return null;
+		}
+		
+		Optional<Locale> result = negotiated.get(acceptLanguage);
+		if(result == null) {
+			result = Optional.ofNullable(doNegotiate(acceptLanguage));
+			if(negotiated.size() >= cacheSize) {
+				// NOTE Protection from the random headers, common values will be cached again.
+				negotiated.clear();
+			}
+			negotiated.put(acceptLanguage, result);
+		}
+		
+		return result.orElse(null);
+	}
+	
+	/**
+	 * Resolves language tag (or language) to canonical locale instance.
+	 * @param languageTag Language tag, for example value of cookie.
+	 * @return Canonical locale or null if locale is not supported or language tag is invalid.
+	 */
+	public Locale resolve(@Nullable String languageTag) {
+		if(StringUtils.isEmpty(languageTag)) {
+			return null;
+		}
+		
+		if(!locales.isEmpty()) {
+			Locale result = byTag.get(languageTag);
+			if(result == null) {
+				result = byTag.get(languageTag.toLowerCase(Locale.ROOT).replace('_', '-'));
+			}
+			return result;
+		}
+		
+		Optional<Locale> result = resolved.get(languageTag);
+		if(result == null) {
+			final Locale locale = Locale.forLanguageTag(languageTag.replace('_', '-'));
+			result = StringUtils.isNotEmpty(locale.getLanguage()) ? Optional.of(locale) : Optional.empty();
+			if(resolved.size() >= cacheSize) {
+				resolved.clear();
+			}
+			resolved.put(languageTag, result);
+		}
+		
+		return result.orElse(null);
+	}
+	
+	protected Locale doNegotiate(String acceptLanguage) {
+		final List<Locale.LanguageRange> ranges;
+		try {
+			ranges = Locale.LanguageRange.parse(acceptLanguage);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		
+		if(!locales.isEmpty()) {
+			// NOTE Lookup creates new locale instance, so map it back to the configured one.
+			final Locale locale = Locale.lookup(ranges, locales);
+			return locale != null ? resolve(locale.toLanguageTag()) : null;
+		}
+		
+		// NOTE Ranges are sorted by weight.
+		for(Locale.LanguageRange range : ranges) {
+			if(range.getWeight() > 0 && range.getRange().indexOf('*') == -1) {
+				return resolve(range.getRange());
+			}
+		}
+		
+		return null;
+	}
+}
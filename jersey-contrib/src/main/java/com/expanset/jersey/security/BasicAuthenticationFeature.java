@@ -5,6 +5,7 @@ import java.util.Base64;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.Priority;
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
@@ -21,6 +22,7 @@ import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
@@ -33,6 +35,7 @@ import org.glassfish.jersey.server.model.AnnotatedMethod;
 import com.expanset.hk2.security.AuthenicationResult;
 import com.expanset.hk2.security.AuthenticationService;
 import com.expanset.hk2.security.LoginPasswordCredentials;
+import com.expanset.jersey.security.metrics.AuthenticationMetrics;
 
 /**
  * Basic authentication scheme.
@@ -64,6 +67,8 @@ public class BasicAuthenticationFeature implements Feature {
 	@Inject
 	protected ServiceLocator serviceLocator;
 	
+	protected RoleTable roleTable;
+	
 	@Override
 	public boolean configure(FeatureContext context) {
 		final Configuration config = context.getConfiguration();
@@ -71,6 +76,7 @@ public class BasicAuthenticationFeature implements Feature {
 			context.register(RolesAllowedDynamicFeature.class);
 		}
 
+		roleTable = RoleTable.register(context);
 		registerRequiredAuthenticationFeature(context);
 		
 		String realm = (String)config.getProperty(BasicAuthenticationFeature.REALM);
@@ -92,7 +98,7 @@ public class BasicAuthenticationFeature implements Feature {
 	}
 
 	protected ContainerRequestFilter createFilter(String realm, String encoding) {
-		ContainerRequestFilter filter = new BasicAuthenticationFilter(realm, encoding);
+		ContainerRequestFilter filter = new BasicAuthenticationFilter(realm, encoding, roleTable);
 		serviceLocator.inject(filter);
 		return filter;
 	}
@@ -104,20 +110,31 @@ public class BasicAuthenticationFeature implements Feature {
 		@Inject
 		protected Provider<AuthenticationService> authenticationServiceProvider;
 		
+		@Inject
+		@org.jvnet.hk2.annotations.Optional
+		protected Provider<AuthenticationMetrics> metricsProvider;
+		
 		protected final String realm;
 			
 		protected final String encodng;
 		
+		protected final RoleTable roleTable;
+		
 		private final static String BASIC_PREFIX = "Basic ";
 		
 		private final static String AUTH_HEADER = "Authorization";
 
 		public BasicAuthenticationFilter(@Nonnull String realm, @Nonnull String encodng) {
+			this(realm, encodng, null);
+		}
+		
+		public BasicAuthenticationFilter(@Nonnull String realm, @Nonnull String encodng, @Nullable RoleTable roleTable) {
 			Validate.notNull(realm, "realm");
 			Validate.notEmpty(encodng, "encodng");
 			
 			this.realm = realm;
 			this.encodng = encodng;
+			this.roleTable = roleTable;
 		}
 		
 		@Override
@@ -126,9 +143,25 @@ public class BasicAuthenticationFeature implements Feature {
 			String authorizationToken = requestContext.getHeaderString(AUTH_HEADER);
 			if(!StringUtils.isEmpty(authorizationToken) && 
 					StringUtils.startsWithIgnoreCase(authorizationToken, BASIC_PREFIX)) {
+				final AuthenticationMetrics metrics = metricsProvider != null ? metricsProvider.get() : null;
+				long started = metrics != null ? System.nanoTime() : 0;
+				
 				authorizationToken = authorizationToken.substring(BASIC_PREFIX.length());
-				final String[] credentialParts = 
-						StringUtils.split(new String(Base64.getDecoder().decode(authorizationToken), encodng), ':');
+				final String[] credentialParts;
+				try {
+					credentialParts = 
+							StringUtils.split(new String(Base64.getDecoder().decode(authorizationToken), encodng), ':');
+				} catch(IllegalArgumentException e) {
+					if(metrics != null) {
+						metrics.recordTokenDecoding(AuthenticationMetrics.BASIC, System.nanoTime() - started, false);
+					}
+					throw e;
+				}
+				if(metrics != null) {
+					final long now = System.nanoTime();
+					metrics.recordTokenDecoding(AuthenticationMetrics.BASIC, now - started, true);
+					started = now;
+				}
 
 				final LoginPasswordCredentials credentials = new LoginPasswordCredentials(
 						credentialParts.length != 0 ? credentialParts[0] : null,
@@ -137,11 +170,16 @@ public class BasicAuthenticationFeature implements Feature {
 						StringUtils.endsWithIgnoreCase("https", requestContext.getUriInfo().getRequestUri().getScheme()));
 				final Optional<AuthenicationResult> authenicationResult = 
 						authenticationServiceProvider.get().authenticate(credentials);
+				if(metrics != null) {
+					metrics.recordAuthentication(
+							AuthenticationMetrics.BASIC, System.nanoTime() - started, authenicationResult.isPresent());
+				}
 				if(authenicationResult.isPresent()) {
 					requestContext.setSecurityContext(new DefaultSecurityContext(
 							SecurityContext.BASIC_AUTH,
 							authenicationResult.get(), 
-							credentials.isSecure()));
+							credentials.isSecure(),
+							roleTable));
 				}			
 			}
 		}
@@ -149,20 +187,24 @@ public class BasicAuthenticationFeature implements Feature {
 	
 	protected static class BasicAuthenticationRequiredFeature implements DynamicFeature {
 
+		/**
+		 * Filter is shared by all protected resource methods.
+		 */
+		protected BasicAuthenticationRequiredFilter filter;
+
 		@Override
 		public void configure(ResourceInfo resourceInfo, FeatureContext context) {
-			final Configuration config = context.getConfiguration();
-			
-			String realm = (String)config.getProperty(BasicAuthenticationFeature.REALM);
-			if(realm == null) {
-				realm = StringUtils.EMPTY;
-			}			
-			
-			final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
-	        if (am.getAnnotation(RolesAllowed.class) != null 
-	        		|| resourceInfo.getResourceClass().getAnnotation(RolesAllowed.class) != null) {
-	        	context.register(createFilter(realm));
-	        }
+			if (resourceInfo.getResourceClass().getAnnotation(RolesAllowed.class) != null 
+					|| new AnnotatedMethod(resourceInfo.getResourceMethod()).getAnnotation(RolesAllowed.class) != null) {
+				if(filter == null) {
+					String realm = (String)context.getConfiguration().getProperty(BasicAuthenticationFeature.REALM);
+					if(realm == null) {
+						realm = StringUtils.EMPTY;
+					}
+					filter = createFilter(realm);
+				}
+				context.register(filter);
+			}
 		}
 
 		protected BasicAuthenticationRequiredFilter createFilter(String realm) {
@@ -175,17 +217,20 @@ public class BasicAuthenticationFeature implements Feature {
 
 		protected final String realm;
 		
+		protected final String challenge;
+		
 		public BasicAuthenticationRequiredFilter(String realm) {
 			this.realm = realm;
+			this.challenge = "Basic realm=\"" + realm +  "\"";
 		}	
 		
 		@Override
 		public void filter(ContainerRequestContext requestContext)
 				throws IOException {
-			if(requestContext.getSecurityContext() == null 
-					|| requestContext.getSecurityContext().getUserPrincipal() == null) {
+			final SecurityContext securityContext = requestContext.getSecurityContext(); 
+			if(securityContext == null || securityContext.getUserPrincipal() == null) {
 				requestContext.abortWith(Response.status(HttpServletResponse.SC_UNAUTHORIZED)
-						.header("WWW-Authenticate", "Basic realm=\"" + realm +  "\"").build());
+						.header(HttpHeaders.WWW_AUTHENTICATE, challenge).build());
 			}
 		}
 	}		
@@ -0,0 +1,106 @@
+package com.expanset.jersey.security;
+
+import java.io.IOException;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
+
+/**
+ * Stateless authentication through signed token in HTTP header {@code Authorization: Bearer <token>}.
+ * <p>
+ * Token contains user name, roles and expiration time, and it is signed by HMAC. Token is verified
+ * with keys of application only, so {@link com.expanset.hk2.security.AuthenticationService} is not used
+ * and nodes of application do not share any state.
+ * You may inject {@link BearerTokenManager} to create token through
+ * {@link BearerTokenManager#createToken(String, java.util.Collection, long)}.
+ * </p>
+ * <p>Configuration parameters:</p>
+ * <ul>
+ * <li>{@link com.expanset.jersey.security.BearerTokenAuthenticationFeature#KEYS}</li>
+ * <li>{@link com.expanset.jersey.security.BearerTokenAuthenticationFeature#SIGNING_KEY}</li>
+ * <li>{@link com.expanset.jersey.security.BearerTokenAuthenticationFeature#ALGORITHM}</li>
+ * </ul>
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public class BearerTokenAuthenticationFeature implements Feature {
+
+	/**
+     * {@link java.util.Map} property defining the keys to sign tokens: key identifier - Base64 encoded secret.
+     * Several keys allow to rotate keys without invalidation of issued tokens.
+     * <p>There is no default value.</p>
+	 */
+	public final static String KEYS = BearerTokenAuthenticationFeature.class.getName() + ".keys";
+
+	/**
+     * {@link String} property defining the identifier of key from
+     * {@link com.expanset.jersey.security.BearerTokenAuthenticationFeature#KEYS} that is used to create tokens.
+     * <p>Not required if there is only one key.</p>
+	 */
+	public final static String SIGNING_KEY = BearerTokenAuthenticationFeature.class.getName() + ".signingKey";
+
+	/**
+     * {@link String} property defining the MAC algorithm of token signature.
+     * <p>Default value is {@code HmacSHA256}.</p>
+	 */
+	public final static String ALGORITHM = BearerTokenAuthenticationFeature.class.getName() + ".algorithm";
+
+	/**
+	 * Default value of MAC algorithm.
+	 */
+	public final static String ALGORITHM_DEFAULT = "HmacSHA256";
+
+	/**
+	 * Authentication scheme name.
+	 */
+	public final static String BEARER_AUTH = "BEARER";
+
+	@Override
+	public boolean configure(FeatureContext context) {
+		final Configuration config = context.getConfiguration();
+		if(!config.isRegistered(RolesAllowedDynamicFeature.class)) {
+			context.register(RolesAllowedDynamicFeature.class);
+		}
+
+		RoleTable.register(context);
+		registerBearerTokenManager(context);
+
+		return true;
+	}
+
+	protected void registerBearerTokenManager(FeatureContext context) {
+		context.register(BearerTokenAuthenticationFilter.class);
+
+		context.register(new AbstractBinder() {
+			@Override
+			protected void configure() {
+				addActiveDescriptor(BearerTokenManager.class);
+			}
+		});
+	}
+
+	@PreMatching
+	@Priority(Priorities.AUTHENTICATION)
+	protected static class BearerTokenAuthenticationFilter implements ContainerRequestFilter {
+
+		@Inject
+		protected BearerTokenManager service;
+
+		@Override
+		public void filter(ContainerRequestContext requestContext)
+				throws IOException {
+			service.authenticateCurrentRequest();
+		}
+	}
+}
@@ -0,0 +1,284 @@
+package com.expanset.jersey.security;
+
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.apache.commons.lang.Validate;
+import org.apache.commons.lang3.StringUtils;
+import org.jvnet.hk2.annotations.Contract;
+import org.jvnet.hk2.annotations.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.expanset.jersey.security.metrics.AuthenticationMetrics;
+
+/**
+ * Creates and verifies signed bearer tokens.
+ * <p>Token format is {@code <key id>.<claims>.<signature>}, where claims are Base64 (URL safe) encoded
+ * form parameters {@code sub}, {@code exp} (seconds since epoch) and {@code roles} (comma separated),
+ * signature is Base64 (URL safe) encoded MAC of {@code <key id>.<claims>}.</p>
+ */
+@Service
+@Contract
+public class BearerTokenManager {
+
+	@Inject
+	protected Provider<ContainerRequestContext> requestProvider;
+
+	@Inject
+	@org.jvnet.hk2.annotations.Optional
+	protected AuthenticationMetrics metrics;
+
+	protected final Map<String, ThreadLocal<Mac>> macs;
+
+	protected final String signingKey;
+
+	protected final RoleTable roleTable;
+
+	private final static String BEARER_PREFIX = "Bearer ";
+
+	private final static String SUBJECT_CLAIM = "sub";
+
+	private final static String EXPIRATION_CLAIM = "exp";
+
+	private final static String ROLES_CLAIM = "roles";
+
+	private final static Logger log = LoggerFactory.getLogger(BearerTokenManager.class);
+
+	@Inject
+	public BearerTokenManager(Configuration webConfig) {
+		@SuppressWarnings("unchecked")
+		final Map<String, String> keys = (Map<String, String>)webConfig.getProperty(BearerTokenAuthenticationFeature.KEYS);
+		if(keys == null || keys.isEmpty()) {
+			throw new IllegalStateException("Property BearerTokenAuthenticationFeature.KEYS must be filled");
+		}
+
+		String algorithm = (String)webConfig.getProperty(BearerTokenAuthenticationFeature.ALGORITHM);
+		if(StringUtils.isEmpty(algorithm)) {
+			algorithm = BearerTokenAuthenticationFeature.ALGORITHM_DEFAULT;
+		}
+
+		String signingKey = (String)webConfig.getProperty(BearerTokenAuthenticationFeature.SIGNING_KEY);
+		if(StringUtils.isEmpty(signingKey) && keys.size() == 1) {
+			signingKey = keys.keySet().iterator().next();
+		}
+		if(signingKey != null && !keys.containsKey(signingKey)) {
+			throw new IllegalStateException(String.format("Signing key %s not found", signingKey));
+		}
+
+		final Map<String, ThreadLocal<Mac>> macs = new HashMap<>(keys.size() * 2);
+		for(Map.Entry<String, String> key : keys.entrySet()) {
+			Validate.isTrue(key.getKey().indexOf('.') == -1, "Key identifier must not contain '.'");
+
+			final SecretKeySpec secret = new SecretKeySpec(Base64.getDecoder().decode(key.getValue()), algorithm);
+			final String macAlgorithm = algorithm;
+			macs.put(key.getKey(), ThreadLocal.withInitial(() -> createMac(macAlgorithm, secret)));
+		}
+
+		this.macs = macs;
+		this.signingKey = signingKey;
+		this.roleTable = RoleTable.get(webConfig);
+	}
+
+	/**
+	 * Creates signed token.
+	 * @param subject User name.
+	 * @param roles User roles.
+	 * @param timeToLive Token time to live in seconds.
+	 * @return Signed token.
+	 */
+	public String createToken(@Nonnull String subject, @Nonnull Collection<String> roles, long timeToLive) {
+		Validate.notEmpty(subject, "subject");
+		Validate.notNull(roles, "roles");
+		Validate.isTrue(timeToLive > 0, "timeToLive");
+		if(signingKey == null) {
+			throw new IllegalStateException("Property BearerTokenAuthenticationFeature.SIGNING_KEY must be filled");
+		}
+
+		final StringBuilder claims = new StringBuilder();
+		claims.append(SUBJECT_CLAIM).append('=').append(encode(subject));
+		claims.append('&').append(EXPIRATION_CLAIM).append('=').append(System.currentTimeMillis() / 1000 + timeToLive);
+		claims.append('&').append(ROLES_CLAIM).append('=').append(encode(StringUtils.join(roles, ',')));
+
+		final String signedPart = signingKey + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(
+				claims.toString().getBytes(StandardCharsets.UTF_8));
+		final byte[] signature = macs.get(signingKey).get().doFinal(signedPart.getBytes(StandardCharsets.US_ASCII));
+
+		return signedPart + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+	}
+
+	/**
+	 * Verifies token.
+	 * @param token Signed token.
+	 * @return Token content or nothing if token is invalid or expired.
+	 */
+	public Optional<BearerToken> verify(@Nonnull String token) {
+		Validate.notNull(token, "token");
+
+		final int keyEnd = token.indexOf('.');
+		final int claimsEnd = token.lastIndexOf('.');
+		if(keyEnd <= 0 || claimsEnd <= keyEnd) {
+			return Optional.empty();
+		}
+
+		final ThreadLocal<Mac> mac = macs.get(token.substring(0, keyEnd));
+		if(mac == null) {
+			log.debug("Unknown token key");
+			return Optional.empty();
+		}
+
+		try {
+			final byte[] signature = Base64.getUrlDecoder().decode(token.substring(claimsEnd + 1));
+			final byte[] expectedSignature = mac.get().doFinal(
+					token.substring(0, claimsEnd).getBytes(StandardCharsets.US_ASCII));
+			if(!MessageDigest.isEqual(signature, expectedSignature)) {
+				log.debug("Invalid token signature");
+				return Optional.empty();
+			}
+
+			final String claims = new String(
+					Base64.getUrlDecoder().decode(token.substring(keyEnd + 1, claimsEnd)), StandardCharsets.UTF_8);
+			String subject = null;
+			long expiration = 0;
+			Set<String> roles = Collections.emptySet();
+			for(String claim : StringUtils.split(claims, '&')) {
+				final String name = StringUtils.substringBefore(claim, "=");
+				final String value = URLDecoder.decode(StringUtils.substringAfter(claim, "="), "utf-8");
+				if(SUBJECT_CLAIM.equals(name)) {
+					subject = value;
+				} else if(EXPIRATION_CLAIM.equals(name)) {
+					expiration = Long.parseLong(value);
+				} else if(ROLES_CLAIM.equals(name) && StringUtils.isNotEmpty(value)) {
+					final String[] roleNames = StringUtils.split(value, ',');
+					roles = new HashSet<>(roleNames.length * 2);
+					Collections.addAll(roles, roleNames);
+				}
+			}
+
+			if(StringUtils.isEmpty(subject) || expiration * 1000 <= System.currentTimeMillis()) {
+				log.debug("Token expired or has no subject");
+				return Optional.empty();
+			}
+
+			return Optional.of(new BearerToken(subject, Collections.unmodifiableSet(roles), expiration));
+		} catch(IllegalArgumentException | UnsupportedEncodingException e) {
+			log.debug("Invalid token format", e);
+			return Optional.empty();
+		}
+	}
+
+	public void authenticateCurrentRequest() {
+		final ContainerRequestContext request = requestProvider.get();
+		final String authorization = request.getHeaderString(HttpHeaders.AUTHORIZATION);
+		if(StringUtils.isEmpty(authorization)
+				|| !StringUtils.startsWithIgnoreCase(authorization, BEARER_PREFIX)) {
+			return;
+		}
+
+		final long started = metrics != null ? System.nanoTime() : 0;
+		final Optional<BearerToken> token = verify(authorization.substring(BEARER_PREFIX.length()).trim());
+		if(metrics != null) {
+			metrics.recordTokenDecoding(AuthenticationMetrics.BEARER, System.nanoTime() - started, token.isPresent());
+		}
+
+		if(token.isPresent()) {
+			final Set<String> roles = token.get().getRoles();
+			request.setSecurityContext(new DefaultSecurityContext(
+					BearerTokenAuthenticationFeature.BEARER_AUTH,
+					token.get(),
+					role -> roles.contains(role),
+					StringUtils.endsWithIgnoreCase("https", request.getUriInfo().getRequestUri().getScheme()),
+					roleTable));
+		}
+	}
+
+	protected static Mac createMac(String algorithm, SecretKeySpec secret) {
+		try {
+			final Mac mac = Mac.getInstance(algorithm);
+			mac.init(secret);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	protected static String encode(String value) {
+		try {
+			return URLEncoder.encode(value, "utf-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Content of verified token.
+	 */
+	@SuppressWarnings("serial")
+	public static class BearerToken implements Principal, Serializable {
+
+		private final String name;
+
+		private final Set<String> roles;
+
+		private final long expiration;
+
+		public BearerToken(@Nonnull String name, @Nonnull Set<String> roles, long expiration) {
+			Validate.notEmpty(name, "name");
+			Validate.notNull(roles, "roles");
+
+			this.name = name;
+			this.roles = roles;
+			this.expiration = expiration;
+		}
+
+		/**
+		 * @return User name.
+		 */
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return User roles.
+		 */
+		public Set<String> getRoles() {
+			return roles;
+		}
+
+		/**
+		 * @return Expiration time in seconds since epoch.
+		 */
+		public long getExpiration() {
+			return expiration;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+}
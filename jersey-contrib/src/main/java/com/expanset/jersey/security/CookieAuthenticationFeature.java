@@ -92,6 +92,7 @@ public class CookieAuthenticationFeature implements Feature {
 			context.register(RolesAllowedDynamicFeature.class);
 		}
 		
+		RoleTable.register(context);
 		registerCookieAuthenticationManager(context);
 		
 		return true;
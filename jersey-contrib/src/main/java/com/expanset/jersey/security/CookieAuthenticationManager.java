@@ -34,6 +34,7 @@ import com.expanset.hk2.security.AuthenticationManager;
 import com.expanset.hk2.security.AuthenticationService;
 import com.expanset.hk2.security.TokenCredentials;
 import com.expanset.jersey.RememberOptionsInCookie;
+import com.expanset.jersey.security.metrics.AuthenticationMetrics;
 
 /**
  * Encrypted cookie authentication service.
@@ -50,10 +51,16 @@ public class CookieAuthenticationManager implements AuthenticationManager {
 
 	@Inject
 	protected Provider<HttpServletResponse> responseProvider;
+	
+	@Inject
+	@org.jvnet.hk2.annotations.Optional
+	protected AuthenticationMetrics metrics;
 		
 	protected final String cookieName;
 	
 	protected final StringEncryptor encryptor;
+	
+	protected final RoleTable roleTable;
 
 	private final static Logger log = LoggerFactory.getLogger(CookieAuthenticationManager.class);
 	
@@ -72,6 +79,7 @@ public class CookieAuthenticationManager implements AuthenticationManager {
 		
 		this.cookieName = cookieName;
 		this.encryptor = encryptor;
+		this.roleTable = RoleTable.get(webConfig);
 	}
 
 	public void authenticateCurrentRequest() {
@@ -83,14 +91,24 @@ public class CookieAuthenticationManager implements AuthenticationManager {
 			return;
 		}
 
+		long started = metrics != null ? System.nanoTime() : 0;
+		
 		String[] parts;
 		try {
 			parts = StringUtils.split(encryptor.decrypt(authCookieValue), '\0');
 		} catch(Throwable e) {
 			log.error("Decrypt authentication cookie error", e);
+			if(metrics != null) {
+				metrics.recordTokenDecoding(AuthenticationMetrics.COOKIE, System.nanoTime() - started, false);
+			}
 			
 			return;
 		}		
+		if(metrics != null) {
+			final long now = System.nanoTime();
+			metrics.recordTokenDecoding(AuthenticationMetrics.COOKIE, now - started, true);
+			started = now;
+		}
 
 		if(parts.length == 2) {
 			Date tokenCreationDate;
@@ -109,11 +127,16 @@ public class CookieAuthenticationManager implements AuthenticationManager {
 					StringUtils.endsWithIgnoreCase("https", request.getUriInfo().getRequestUri().getScheme()));
 			final Optional<AuthenicationResult> authenicationResult = 
 					authenticationServiceProvider.get().authenticate(credentials);
+			if(metrics != null) {
+				metrics.recordAuthentication(
+						AuthenticationMetrics.COOKIE, System.nanoTime() - started, authenicationResult.isPresent());
+			}
 			if(authenicationResult.isPresent()) {
 				request.setSecurityContext(new DefaultSecurityContext(
 						SecurityContext.FORM_AUTH,
 						authenicationResult.get(), 
-						credentials.isSecure()));
+						credentials.isSecure(),
+						roleTable));
 			}
 		} else {
 			log.error("Authentication cookie invalid format, parts: {}", parts.length);
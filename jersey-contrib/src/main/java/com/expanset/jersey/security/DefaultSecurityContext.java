@@ -1,8 +1,12 @@
 package com.expanset.jersey.security;
 
 import java.security.Principal;
+import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.ws.rs.core.SecurityContext;
 
 import org.apache.commons.lang.Validate;
@@ -11,44 +15,140 @@ import com.expanset.hk2.security.AuthenicationResult;
 
 /**
  * Default implementation of {@link SecurityContext}.
+ * <p>Result of role check is remembered, so role callback of {@link AuthenicationResult} is called
+ * once per role. Roles from {@link RoleTable} are stored as bits.</p>
  */
 public class DefaultSecurityContext implements SecurityContext {
 
 	protected final String authenticationScheme;
-	
+
 	protected final AuthenicationResult authenicationResult;
-			
+
+	protected final Principal principal;
+
+	protected final Function<String, Boolean> userInRoleCallback;
+
 	protected final boolean secure;
 
+	protected final RoleTable roleTable;
+
+	/**
+	 * Two bits for every role from role table: resolved and granted.
+	 */
+	protected final AtomicLongArray roleBits;
+
+	/**
+	 * Resolved roles, which are not in role table.
+	 */
+	protected final ConcurrentHashMap<String, Boolean> otherRoles = new ConcurrentHashMap<>(4);
+
 	/**
 	 * @param authenticationScheme Authentication scheme, see {@link SecurityContext}.
 	 * @param authenicationResult Result of authentication process.
 	 * @param secure Credentials is received via the protected channel.
 	 */
 	public DefaultSecurityContext(
-			@Nonnull String authenticationScheme, 
-			@Nonnull AuthenicationResult authenicationResult, 
+			@Nonnull String authenticationScheme,
+			@Nonnull AuthenicationResult authenicationResult,
 			boolean secure) {
+		this(authenticationScheme, authenicationResult, secure, null);
+	}
+
+	/**
+	 * @param authenticationScheme Authentication scheme, see {@link SecurityContext}.
+	 * @param authenicationResult Result of authentication process.
+	 * @param secure Credentials is received via the protected channel.
+	 * @param roleTable Roles of application, may be null.
+	 */
+	public DefaultSecurityContext(
+			@Nonnull String authenticationScheme,
+			@Nonnull AuthenicationResult authenicationResult,
+			boolean secure,
+			@Nullable RoleTable roleTable) {
 		Validate.notNull(authenticationScheme, "authenticationScheme");
 		Validate.notNull(authenicationResult, "authenicationResult");
 
 		this.authenticationScheme = authenticationScheme;
 		this.authenicationResult = authenicationResult;
+		this.principal = authenicationResult.getPrincipal();
+		this.userInRoleCallback = authenicationResult.getUserInRoleCallback();
 		this.secure = secure;
+		this.roleTable = roleTable;
+		this.roleBits = roleTable != null && roleTable.size() > 0 ?
+				new AtomicLongArray((roleTable.size() * 2 + 63) / 64) : null;
 	}
-	
+
+	/**
+	 * @param authenticationScheme Authentication scheme, see {@link SecurityContext}.
+	 * @param principal Authenticated user.
+	 * @param userInRoleCallback Checks that user has role.
+	 * @param secure Credentials is received via the protected channel.
+	 * @param roleTable Roles of application, may be null.
+	 */
+	public DefaultSecurityContext(
+			@Nonnull String authenticationScheme,
+			@Nonnull Principal principal,
+			@Nonnull Function<String, Boolean> userInRoleCallback,
+			boolean secure,
+			@Nullable RoleTable roleTable) {
+		Validate.notNull(authenticationScheme, "authenticationScheme");
+		Validate.notNull(principal, "principal");
+		Validate.notNull(userInRoleCallback, "userInRoleCallback");
+
+		this.authenticationScheme = authenticationScheme;
+		this.authenicationResult = null;
+		this.principal = principal;
+		this.userInRoleCallback = userInRoleCallback;
+		this.secure = secure;
+		this.roleTable = roleTable;
+		this.roleBits = roleTable != null && roleTable.size() > 0 ?
+				new AtomicLongArray((roleTable.size() * 2 + 63) / 64) : null;
+	}
+
 	@Override
 	public Principal getUserPrincipal() {
-		return authenicationResult.getPrincipal();
+		return principal;
 	}
 
 	@Override
 	public boolean isUserInRole(String role) {
-		final Boolean result = authenicationResult.getUserInRoleCallback().apply(role);
-		if(result != null) {
-			return result.booleanValue();
+		final int index = roleBits != null ? roleTable.indexOf(role) : -1;
+		if(index >= 0 && index * 2 < roleBits.length() * 64) {
+			final int resolvedBit = index * 2;
+			final long word = roleBits.get(resolvedBit >>> 6);
+			if((word & (1L << resolvedBit)) != 0) {
+				return (word & (1L << (resolvedBit + 1))) != 0;
+			}
+
+			final boolean result = resolveUserInRole(role);
+			final long mask = (1L << resolvedBit) | (result ? 1L << (resolvedBit + 1) : 0);
+			long current;
+			do {
+				current = roleBits.get(resolvedBit >>> 6);
+			} while(!roleBits.compareAndSet(resolvedBit >>> 6, current, current | mask));
+			return result;
+		}
+
+		if(role == null) {
+			return resolveUserInRole(role);
+		}
+		Boolean result = otherRoles.get(role);
+		if(result == null) {
+			result = resolveUserInRole(role);
+			otherRoles.putIfAbsent(role, result);
+		}
+		return result.booleanValue();
+	}
+
+	/**
+	 * Resolves all roles from role table.
+	 */
+	public void resolveAllRoles() {
+		if(roleTable != null) {
+			for(String role : roleTable.getRoles()) {
+				isUserInRole(role);
+			}
 		}
-		return false;
 	}
 
 	@Override
@@ -60,4 +160,12 @@ public class DefaultSecurityContext implements SecurityContext {
 	public String getAuthenticationScheme() {
 		return authenticationScheme;
 	}
+
+	protected boolean resolveUserInRole(String role) {
+		final Boolean result = userInRoleCallback.apply(role);
+		if(result != null) {
+			return result.booleanValue();
+		}
+		return false;
+	}
 }
@@ -0,0 +1,131 @@
+package com.expanset.jersey.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.FeatureContext;
+
+import org.apache.commons.lang.Validate;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+/**
+ * Table of role names used in {@link RolesAllowed} annotations of resources.
+ * <p>Every role gets dense index, so {@link DefaultSecurityContext} stores resolved roles as bits.
+ * Table is filled when resource model is built.</p>
+ */
+public class RoleTable {
+
+	/**
+	 * {@link RoleTable} property, filled by {@link RoleTable#register(FeatureContext)}.
+	 */
+	public final static String ROLE_TABLE = RoleTable.class.getName() + ".roleTable";
+
+	protected final ConcurrentHashMap<String, Integer> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns role table of application, creates it and registers {@link RolesAllowed} annotations scanning
+	 * if it is not exists.
+	 * @param context Feature context.
+	 * @return Role table of application.
+	 */
+	public static RoleTable register(@Nonnull FeatureContext context) {
+		Validate.notNull(context, "context");
+
+		RoleTable roleTable = get(context.getConfiguration());
+		if(roleTable == null) {
+			roleTable = new RoleTable();
+			context.property(ROLE_TABLE, roleTable);
+			context.register(new RolesAllowedCollector(roleTable));
+		}
+		return roleTable;
+	}
+
+	/**
+	 * @param config Jersey configuration.
+	 * @return Role table of application or null if it is not registered.
+	 */
+	public static RoleTable get(@Nonnull Configuration config) {
+		Validate.notNull(config, "config");
+
+		return (RoleTable)config.getProperty(ROLE_TABLE);
+	}
+
+	/**
+	 * Adds role to table.
+	 * @param role Role name.
+	 * @return Index of the role.
+	 */
+	public int add(@Nonnull String role) {
+		Validate.notNull(role, "role");
+
+		synchronized (indexes) {
+			Integer index = indexes.get(role);
+			if(index == null) {
+				index = indexes.size();
+				indexes.put(role, index);
+			}
+			return index.intValue();
+		}
+	}
+
+	/**
+	 * @param role Role name.
+	 * @return Index of the role or -1 if role is unknown.
+	 */
+	public int indexOf(@Nullable String role) {
+		if(role == null) {
+			return -1;
+		}
+		final Integer index = indexes.get(role);
+		return index != null ? index.intValue() : -1;
+	}
+
+	/**
+	 * @return Count of roles.
+	 */
+	public int size() {
+		return indexes.size();
+	}
+
+	/**
+	 * @return Names of roles, ordered by index.
+	 */
+	public String[] getRoles() {
+		synchronized (indexes) {
+			final String[] roles = new String[indexes.size()];
+			indexes.forEach((role, index) -> roles[index] = role);
+			return roles;
+		}
+	}
+
+	protected static class RolesAllowedCollector implements DynamicFeature {
+
+		protected final RoleTable roleTable;
+
+		public RolesAllowedCollector(RoleTable roleTable) {
+			assert roleTable != null;
+
+			this.roleTable = roleTable;
+		}
+
+		@Override
+		public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+			final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+			addRoles(am.getAnnotation(RolesAllowed.class));
+			addRoles(resourceInfo.getResourceClass().getAnnotation(RolesAllowed.class));
+		}
+
+		protected void addRoles(RolesAllowed rolesAllowed) {
+			if(rolesAllowed != null) {
+				for(String role : rolesAllowed.value()) {
+					roleTable.add(role);
+				}
+			}
+		}
+	}
+}
@@ -31,6 +31,7 @@ import com.expanset.jersey.session.SessionFeature;
  * <p>Configuration parameters:</p>
  * <ul>
  * <li>{@link com.expanset.jersey.security.SessionAuthenticationFeature#SESSION_KEY}</li>
+ * <li>{@link com.expanset.jersey.security.SessionAuthenticationFeature#REVALIDATION_INTERVAL}</li>
  * </ul>
  */
 @ConstrainedTo(RuntimeType.SERVER)
@@ -45,6 +46,19 @@ public class SessionAuthenticationFeature implements Feature {
 	 * Default key name.
 	 */
 	public final static String SESSION_KEY_DEFAULT = SessionAuthenticationFeature.class.getName() + ".sessionKey";
+
+	/**
+     * {@link Long} property defining the time (milliseconds) during which the principal and roles stored 
+     * in session are used without calling {@link com.expanset.hk2.security.AuthenticationService}.
+     * Use {@link SessionAuthenticationManager#invalidateAuthentications()} to force re-authentication earlier.
+     * <p>Default value is {@code 0} - user is authenticated on every request.</p>
+	 */		
+	public final static String REVALIDATION_INTERVAL = SessionAuthenticationFeature.class.getName() + ".revalidationInterval";
+
+	/**
+	 * Default value for {@link com.expanset.jersey.security.SessionAuthenticationFeature#REVALIDATION_INTERVAL}.
+	 */
+	public final static long REVALIDATION_INTERVAL_DEFAULT = 0;
 		
 	@Inject
 	protected ServiceLocator serviceLocator;
@@ -59,6 +73,7 @@ public class SessionAuthenticationFeature implements Feature {
 			context.register(SessionFeature.class);
 		}
 		
+		RoleTable.register(context);
 		registerSessionAuthenticationManager(context);
 
 		return true;
@@ -1,6 +1,8 @@
 package com.expanset.jersey.security;
 
+import java.io.Serializable;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -21,6 +23,7 @@ import com.expanset.hk2.security.AbstractCredentials;
 import com.expanset.hk2.security.AuthenicationResult;
 import com.expanset.hk2.security.AuthenticationManager;
 import com.expanset.hk2.security.AuthenticationService;
+import com.expanset.jersey.security.metrics.AuthenticationMetrics;
 
 /**
  *  Session stored credentials authentication service.
@@ -38,16 +41,36 @@ public class SessionAuthenticationManager implements AuthenticationManager {
 	@Inject
 	protected Provider<AuthenticationService> authenticationServiceProvider;	
 	
+	@Inject
+	@org.jvnet.hk2.annotations.Optional
+	protected AuthenticationMetrics metrics;
+	
 	protected final String sessionKey;
 	
+	protected final String snapshotSessionKey;
+	
+	protected final long revalidationInterval;
+	
+	protected final RoleTable roleTable;
+	
+	protected final AtomicLong invalidationEpoch = new AtomicLong();
+	
 	@Inject
 	public SessionAuthenticationManager(Configuration webConfig) {
 		String sessionKey = (String)webConfig.getProperty(SessionAuthenticationFeature.SESSION_KEY);
 		if(StringUtils.isEmpty(sessionKey)) {
 			sessionKey = SessionAuthenticationFeature.SESSION_KEY_DEFAULT;
 		}		
+		
+		Long revalidationInterval = (Long)webConfig.getProperty(SessionAuthenticationFeature.REVALIDATION_INTERVAL);
+		if(revalidationInterval == null) {
+			revalidationInterval = SessionAuthenticationFeature.REVALIDATION_INTERVAL_DEFAULT;
+		}
 				
 		this.sessionKey = sessionKey;
+		this.snapshotSessionKey = sessionKey + ".snapshot";
+		this.revalidationInterval = revalidationInterval;
+		this.roleTable = RoleTable.get(webConfig);
 	}
 
 	@Override
@@ -56,27 +79,132 @@ public class SessionAuthenticationManager implements AuthenticationManager {
 			@Nullable RememberOptions rememberOptions) {
 		Validate.notNull(credentials, "credentials");
 		
-		sessionProvider.get().setAttribute(sessionKey, credentials);
+		final HttpSession session = sessionProvider.get();
+		session.removeAttribute(snapshotSessionKey);
+		session.setAttribute(sessionKey, credentials);
 	}
 	
 	@Override
 	public void removeAuthentication(@Nullable RememberOptions rememberOptions) {
-		sessionProvider.get().removeAttribute(sessionKey);
+		final HttpSession session = sessionProvider.get();
+		session.removeAttribute(snapshotSessionKey);
+		session.removeAttribute(sessionKey);
+	}
+	
+	/**
+	 * Forces full authentication of all sessions on the next request, for example after changing user roles.
+	 */
+	public void invalidateAuthentications() {
+		invalidationEpoch.incrementAndGet();
 	}
 	
 	public void authenticateCurrentRequest() {
 		final ContainerRequestContext request = requestProvider.get();
-		final AbstractCredentials credentials = 
-				(AbstractCredentials)sessionProvider.get().getAttribute(sessionKey);
-		if(credentials != null) {
-			final Optional<AuthenicationResult> authenicationResult = 
-					authenticationServiceProvider.get().authenticate(credentials);
+		final HttpSession session = sessionProvider.get();
+		final AbstractCredentials credentials =
+				(AbstractCredentials)session.getAttribute(sessionKey);
+		if(credentials == null) {
+			return;
+		}
+
+		if(revalidationInterval <= 0) {
+			final Optional<AuthenicationResult> authenicationResult = authenticate(credentials);
 			if(authenicationResult.isPresent()) {
 				request.setSecurityContext(new DefaultSecurityContext(
 						SecurityContext.FORM_AUTH,
-						authenicationResult.get(), 
-						credentials.isSecure()));
+						authenicationResult.get(),
+						credentials.isSecure(),
+						roleTable));
 			}
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		final long epoch = invalidationEpoch.get();
+
+		final AuthenticationSnapshot snapshot =
+				(AuthenticationSnapshot)session.getAttribute(snapshotSessionKey);
+		if(snapshot != null && snapshot.isValid(credentials, epoch, now, revalidationInterval)) {
+			if(metrics != null) {
+				metrics.recordCacheHit(AuthenticationMetrics.SESSION);
+			}
+			request.setSecurityContext(snapshot.getSecurityContext());
+			return;
+		}
+		if(metrics != null) {
+			metrics.recordCacheMiss(AuthenticationMetrics.SESSION);
+		}
+
+		final Optional<AuthenicationResult> authenicationResult = authenticate(credentials);
+		if(authenicationResult.isPresent()) {
+			final AuthenticationSnapshot newSnapshot = new AuthenticationSnapshot(
+					credentials,
+					new DefaultSecurityContext(
+							SecurityContext.FORM_AUTH,
+							authenicationResult.get(),
+							credentials.isSecure(),
+							roleTable),
+					epoch,
+					now);
+			session.setAttribute(snapshotSessionKey, newSnapshot);
+			request.setSecurityContext(newSnapshot.getSecurityContext());
+		} else if(snapshot != null) {
+			session.removeAttribute(snapshotSessionKey);
+		}
+	}
+
+	protected Optional<AuthenicationResult> authenticate(AbstractCredentials credentials) {
+		if(metrics == null) {
+			return authenticationServiceProvider.get().authenticate(credentials);
+		}
+
+		final long started = System.nanoTime();
+		final Optional<AuthenicationResult> authenicationResult =
+				authenticationServiceProvider.get().authenticate(credentials);
+		metrics.recordAuthentication(
+				AuthenticationMetrics.SESSION, System.nanoTime() - started, authenicationResult.isPresent());
+		return authenicationResult;
+	}
+
+	/**
+	 * Result of the last full authentication, stored in session.
+	 * Security context remembers role checks, so they are resolved once per revalidation interval.
+	 */
+	@SuppressWarnings("serial")
+	protected static class AuthenticationSnapshot implements Serializable {
+
+		// NOTE Not serialized, so after session passivation full authentication is performed.
+		protected final transient AbstractCredentials credentials;
+
+		protected final transient DefaultSecurityContext securityContext;
+
+		protected final long epoch;
+
+		protected final long validated;
+
+		public AuthenticationSnapshot(
+				AbstractCredentials credentials,
+				DefaultSecurityContext securityContext,
+				long epoch,
+				long validated) {
+			assert credentials != null;
+			assert securityContext != null;
+
+			this.credentials = credentials;
+			this.securityContext = securityContext;
+			this.epoch = epoch;
+			this.validated = validated;
+		}
+
+		public boolean isValid(AbstractCredentials credentials, long epoch, long now, long revalidationInterval) {
+			return this.credentials == credentials
+					&& this.securityContext != null
+					&& this.epoch == epoch
+					&& now - validated < revalidationInterval;
+		}
+
+		public SecurityContext getSecurityContext() {
+			return securityContext;
 		}
 	}
 }
@@ -0,0 +1,59 @@
+package com.expanset.jersey.security.metrics;
+
+import org.jvnet.hk2.annotations.Contract;
+
+/**
+ * Collects performance metrics of authentication schemes.
+ * <p>Register {@link AuthenticationMetricsFeature} or bind own implementation in the service locator.</p>
+ */
+@Contract
+public interface AuthenticationMetrics {
+
+	/**
+	 * Scheme name of {@link com.expanset.jersey.security.BasicAuthenticationFeature}.
+	 */
+	final static String BASIC = "basic";
+
+	/**
+	 * Scheme name of {@link com.expanset.jersey.security.CookieAuthenticationFeature}.
+	 */
+	final static String COOKIE = "cookie";
+
+	/**
+	 * Scheme name of {@link com.expanset.jersey.security.SessionAuthenticationFeature}.
+	 */
+	final static String SESSION = "session";
+
+	/**
+	 * Scheme name of {@link com.expanset.jersey.security.BearerTokenAuthenticationFeature}.
+	 */
+	final static String BEARER = "bearer";
+
+	/**
+	 * Records time of decoding, decryption or verification of credentials token.
+	 * @param scheme Scheme name.
+	 * @param nanos Duration in nanoseconds.
+	 * @param success true - token is valid.
+	 */
+	void recordTokenDecoding(String scheme, long nanos, boolean success);
+
+	/**
+	 * Records time of {@link com.expanset.hk2.security.AuthenticationService#authenticate} call.
+	 * @param scheme Scheme name.
+	 * @param nanos Duration in nanoseconds.
+	 * @param success true - user is authenticated.
+	 */
+	void recordAuthentication(String scheme, long nanos, boolean success);
+
+	/**
+	 * Records authentication without calling {@link com.expanset.hk2.security.AuthenticationService}.
+	 * @param scheme Scheme name.
+	 */
+	void recordCacheHit(String scheme);
+
+	/**
+	 * Records authentication that required calling {@link com.expanset.hk2.security.AuthenticationService}.
+	 * @param scheme Scheme name.
+	 */
+	void recordCacheMiss(String scheme);
+}
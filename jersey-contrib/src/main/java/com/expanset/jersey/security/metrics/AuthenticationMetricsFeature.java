@@ -0,0 +1,82 @@
+package com.expanset.jersey.security.metrics;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.spi.AbstractContainerLifecycleListener;
+import org.glassfish.jersey.server.spi.Container;
+
+/**
+ * Collecting of authentication metrics: decoding time of credentials tokens, latency of 
+ * {@link com.expanset.hk2.security.AuthenticationService}, hit rate of authentication caches.
+ * <p>Metrics are collected by {@link DefaultAuthenticationMetrics} and published by 
+ * {@link AuthenticationMetricsReporter}.</p>
+ * <p>Configuration parameters:</p>
+ * <ul>
+ * <li>{@link com.expanset.jersey.security.metrics.AuthenticationMetricsFeature#REPORTER}</li>
+ * </ul>
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public class AuthenticationMetricsFeature implements Feature {
+
+	/**
+     * {@link AuthenticationMetricsReporter} property defining the publisher of metrics.
+     * <p>Default value is {@link JmxAuthenticationMetricsReporter}, MXBeans are named by 
+     * {@link ServerProperties#APPLICATION_NAME}.</p>
+	 */
+	public final static String REPORTER = AuthenticationMetricsFeature.class.getName() + ".reporter";
+
+	@Override
+	public boolean configure(FeatureContext context) {
+		final Configuration config = context.getConfiguration();
+
+		AuthenticationMetricsReporter reporter = (AuthenticationMetricsReporter)config.getProperty(REPORTER);
+		if(reporter == null) {
+			// NOTE Application name distinguishes MXBeans of several applications in the same JVM.
+			reporter = new JmxAuthenticationMetricsReporter(
+					JmxAuthenticationMetricsReporter.DOMAIN_DEFAULT,
+					(String)config.getProperty(ServerProperties.APPLICATION_NAME));
+		}
+
+		final DefaultAuthenticationMetrics metrics = new DefaultAuthenticationMetrics();
+		context.register(new AbstractBinder() {
+			@Override
+			protected void configure() {
+				bind(metrics).to(AuthenticationMetrics.class).to(DefaultAuthenticationMetrics.class);
+			}
+		});
+		context.register(new ReporterLifecycleListener(metrics, reporter));
+
+		return true;
+	}
+
+	protected static class ReporterLifecycleListener extends AbstractContainerLifecycleListener {
+
+		protected final DefaultAuthenticationMetrics metrics;
+
+		protected final AuthenticationMetricsReporter reporter;
+
+		public ReporterLifecycleListener(DefaultAuthenticationMetrics metrics, AuthenticationMetricsReporter reporter) {
+			assert metrics != null;
+			assert reporter != null;
+
+			this.metrics = metrics;
+			this.reporter = reporter;
+		}
+
+		@Override
+		public void onStartup(Container container) {
+			reporter.start(metrics);
+		}
+
+		@Override
+		public void onShutdown(Container container) {
+			reporter.stop();
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.expanset.jersey.security.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Publishes collected authentication metrics.
+ */
+public interface AuthenticationMetricsReporter {
+
+	/**
+	 * Starts publishing of metrics. Called on application startup.
+	 * @param metrics Metrics to publish.
+	 */
+	void start(@Nonnull DefaultAuthenticationMetrics metrics);
+
+	/**
+	 * Stops publishing of metrics. Called on application shutdown.
+	 */
+	void stop();
+}
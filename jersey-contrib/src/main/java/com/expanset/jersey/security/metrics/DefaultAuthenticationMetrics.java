@@ -0,0 +1,93 @@
+package com.expanset.jersey.security.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Default implementation of {@link AuthenticationMetrics}, stores metrics in memory.
+ */
+public class DefaultAuthenticationMetrics implements AuthenticationMetrics {
+
+	protected final ConcurrentHashMap<String, SchemeAuthenticationMetrics> schemes = new ConcurrentHashMap<>();
+
+	protected final List<Consumer<SchemeAuthenticationMetrics>> listeners = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void recordTokenDecoding(String scheme, long nanos, boolean success) {
+		getScheme(scheme).recordTokenDecoding(nanos, success);
+	}
+
+	@Override
+	public void recordAuthentication(String scheme, long nanos, boolean success) {
+		getScheme(scheme).recordAuthentication(nanos, success);
+	}
+
+	@Override
+	public void recordCacheHit(String scheme) {
+		getScheme(scheme).recordCacheHit();
+	}
+
+	@Override
+	public void recordCacheMiss(String scheme) {
+		getScheme(scheme).recordCacheMiss();
+	}
+
+	/**
+	 * @param scheme Scheme name.
+	 * @return Metrics of the scheme.
+	 */
+	public SchemeAuthenticationMetrics getScheme(@Nonnull String scheme) {
+		Validate.notNull(scheme, "scheme");
+
+		SchemeAuthenticationMetrics metrics = schemes.get(scheme);
+		if(metrics == null) {
+			final SchemeAuthenticationMetrics newMetrics = new SchemeAuthenticationMetrics(scheme);
+			metrics = schemes.putIfAbsent(scheme, newMetrics);
+			if(metrics == null) {
+				metrics = newMetrics;
+				for(Consumer<SchemeAuthenticationMetrics> listener : listeners) {
+					listener.accept(newMetrics);
+				}
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * @return Metrics of all used schemes.
+	 */
+	public Collection<SchemeAuthenticationMetrics> getSchemes() {
+		return Collections.unmodifiableCollection(schemes.values());
+	}
+
+	/**
+	 * Adds listener of new schemes. Listener is called for already existing schemes too.
+	 * @param listener Listener of new schemes.
+	 */
+	public void addSchemeListener(@Nonnull Consumer<SchemeAuthenticationMetrics> listener) {
+		Validate.notNull(listener, "listener");
+
+		listeners.add(listener);
+		for(SchemeAuthenticationMetrics metrics : schemes.values()) {
+			listener.accept(metrics);
+		}
+	}
+
+	/**
+	 * Removes listener of new schemes.
+	 * @param listener Listener of new schemes.
+	 */
+	public void removeSchemeListener(@Nonnull Consumer<SchemeAuthenticationMetrics> listener) {
+		Validate.notNull(listener, "listener");
+
+		listeners.remove(listener);
+	}
+}
@@ -0,0 +1,130 @@
+package com.expanset.jersey.security.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes authentication metrics as MXBeans in platform MBean server.
+ * <p>Object name of the scheme metrics is 
+ * {@code <domain>:type=AuthenticationMetrics,application=<application>,scheme=<scheme>}, 
+ * so several applications in the same JVM publish own metrics.</p>
+ */
+public class JmxAuthenticationMetricsReporter implements AuthenticationMetricsReporter {
+
+	/**
+	 * Default domain of MXBeans.
+	 */
+	public final static String DOMAIN_DEFAULT = "com.expanset.jersey";
+
+	private final static AtomicInteger instances = new AtomicInteger();
+
+	protected final String domain;
+
+	protected final String application;
+
+	protected final MBeanServer server;
+
+	protected final List<ObjectName> registered = new CopyOnWriteArrayList<>();
+
+	protected final Consumer<SchemeAuthenticationMetrics> listener = this::register;
+
+	protected DefaultAuthenticationMetrics metrics;
+
+	private final static Logger log = LoggerFactory.getLogger(JmxAuthenticationMetricsReporter.class);
+
+	public JmxAuthenticationMetricsReporter() {
+		this(DOMAIN_DEFAULT, null);
+	}
+
+	/**
+	 * @param domain Domain of MXBeans.
+	 */
+	public JmxAuthenticationMetricsReporter(@Nonnull String domain) {
+		this(domain, null);
+	}
+
+	/**
+	 * @param domain Domain of MXBeans.
+	 * @param application Application name, if null then unique name of the reporter instance is used.
+	 */
+	public JmxAuthenticationMetricsReporter(@Nonnull String domain, @Nullable String application) {
+		Validate.notEmpty(domain, "domain");
+
+		this.domain = domain;
+		this.application = StringUtils.isNotEmpty(application) ? 
+				application : "instance-" + instances.incrementAndGet();
+		this.server = ManagementFactory.getPlatformMBeanServer();
+	}
+
+	/**
+	 * @return Value of the "application" key of MXBean names.
+	 */
+	public String getApplication() {
+		return application;
+	}
+
+	@Override
+	public synchronized void start(@Nonnull DefaultAuthenticationMetrics metrics) {
+		Validate.notNull(metrics, "metrics");
+
+		this.metrics = metrics;
+		metrics.addSchemeListener(listener);
+	}
+
+	@Override
+	public synchronized void stop() {
+		if(metrics != null) {
+			metrics.removeSchemeListener(listener);
+			metrics = null;
+		}
+		for(ObjectName name : registered) {
+			try {
+				server.unregisterMBean(name);
+			} catch (Throwable e) {
+				log.warn("Unregister MXBean {} error", name, e);
+			}
+		}
+		registered.clear();
+	}
+
+	protected void register(SchemeAuthenticationMetrics schemeMetrics) {
+		try {
+			final ObjectName name = getObjectName(schemeMetrics.getScheme());
+			if(server.isRegistered(name)) {
+				log.warn("MXBean {} is already registered, use unique application name", name);
+				return;
+			}
+			server.registerMBean(schemeMetrics, name);
+			registered.add(name);
+		} catch (Throwable e) {
+			log.warn("Register MXBean for scheme {} error", schemeMetrics.getScheme(), e);
+		}
+	}
+
+	/**
+	 * @param scheme Scheme name.
+	 * @return Object name of the scheme metrics.
+	 * @throws MalformedObjectNameException Invalid domain.
+	 */
+	public ObjectName getObjectName(@Nonnull String scheme) 
+			throws MalformedObjectNameException {
+		Validate.notNull(scheme, "scheme");
+		
+		return new ObjectName(domain + ":type=AuthenticationMetrics,application=" + ObjectName.quote(application) 
+				+ ",scheme=" + ObjectName.quote(scheme));
+	}
+}
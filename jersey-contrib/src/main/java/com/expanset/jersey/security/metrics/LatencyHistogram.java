@@ -0,0 +1,114 @@
+package com.expanset.jersey.security.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets.
+ * <p>Every power of two is divided to {@value #SUB_BUCKETS} buckets, so relative error of percentiles 
+ * does not exceed 12.5%.</p>
+ */
+public class LatencyHistogram {
+
+	protected final static int SUB_BUCKET_BITS = 3;
+
+	protected final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	// NOTE Exponent of non-negative long value does not exceed 62.
+	protected final static int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	protected final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	protected final LongAdder count = new LongAdder();
+
+	protected final LongAdder sum = new LongAdder();
+
+	protected final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records value.
+	 * @param nanos Duration in nanoseconds.
+	 */
+	public void record(long nanos) {
+		if(nanos < 0) {
+			nanos = 0;
+		}
+		counts.incrementAndGet(bucketIndex(nanos));
+		count.increment();
+		sum.add(nanos);
+		max.accumulate(nanos);
+	}
+
+	/**
+	 * @return Count of recorded values.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @param unit Time unit of result.
+	 * @return Mean value.
+	 */
+	public double getMean(TimeUnit unit) {
+		final long currentCount = count.sum();
+		if(currentCount == 0) {
+			return 0;
+		}
+		return (double)sum.sum() / currentCount / unit.toNanos(1);
+	}
+
+	/**
+	 * @param unit Time unit of result.
+	 * @return Maximum value.
+	 */
+	public long getMax(TimeUnit unit) {
+		return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @param percentile Percentile (0 - 100).
+	 * @param unit Time unit of result.
+	 * @return Upper bound of the bucket with requested percentile.
+	 */
+	public long getPercentile(double percentile, TimeUnit unit) {
+		long total = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			total += counts.get(i);
+		}
+		if(total == 0) {
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long)Math.ceil(total * percentile / 100));
+		long current = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			current += counts.get(i);
+			if(current >= rank) {
+				return unit.convert(Math.min(bucketUpperBound(i), max.get()), TimeUnit.NANOSECONDS);
+			}
+		}
+		return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+	}
+
+	protected static int bucketIndex(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int)value;
+		}
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	protected static long bucketUpperBound(int index) {
+		if(index < SUB_BUCKETS) {
+			return index;
+		}
+		final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		final int subBucket = index % SUB_BUCKETS;
+		final long lowerBound = (long)(SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+		return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+}
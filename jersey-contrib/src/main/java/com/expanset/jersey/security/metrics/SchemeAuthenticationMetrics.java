@@ -0,0 +1,138 @@
+package com.expanset.jersey.security.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one authentication scheme.
+ */
+public class SchemeAuthenticationMetrics implements SchemeAuthenticationMetricsMXBean {
+
+	protected final String scheme;
+
+	protected final LatencyHistogram tokenDecoding = new LatencyHistogram();
+
+	protected final LongAdder tokenDecodingFailures = new LongAdder();
+
+	protected final LatencyHistogram authentication = new LatencyHistogram();
+
+	protected final LongAdder authenticationFailures = new LongAdder();
+
+	protected final LongAdder cacheHits = new LongAdder();
+
+	protected final LongAdder cacheMisses = new LongAdder();
+
+	public SchemeAuthenticationMetrics(String scheme) {
+		assert scheme != null;
+
+		this.scheme = scheme;
+	}
+
+	public void recordTokenDecoding(long nanos, boolean success) {
+		tokenDecoding.record(nanos);
+		if(!success) {
+			tokenDecodingFailures.increment();
+		}
+	}
+
+	public void recordAuthentication(long nanos, boolean success) {
+		authentication.record(nanos);
+		if(!success) {
+			authenticationFailures.increment();
+		}
+	}
+
+	public void recordCacheHit() {
+		cacheHits.increment();
+	}
+
+	public void recordCacheMiss() {
+		cacheMisses.increment();
+	}
+
+	/**
+	 * @return Histogram of token decoding time.
+	 */
+	public LatencyHistogram getTokenDecodingHistogram() {
+		return tokenDecoding;
+	}
+
+	/**
+	 * @return Histogram of {@link com.expanset.hk2.security.AuthenticationService} latency.
+	 */
+	public LatencyHistogram getAuthenticationHistogram() {
+		return authentication;
+	}
+
+	@Override
+	public String getScheme() {
+		return scheme;
+	}
+
+	@Override
+	public long getTokenDecodingCount() {
+		return tokenDecoding.getCount();
+	}
+
+	@Override
+	public long getTokenDecodingFailures() {
+		return tokenDecodingFailures.sum();
+	}
+
+	@Override
+	public double getTokenDecodingMeanMicros() {
+		return tokenDecoding.getMean(TimeUnit.MICROSECONDS);
+	}
+
+	@Override
+	public long getTokenDecoding99thPercentileMicros() {
+		return tokenDecoding.getPercentile(99, TimeUnit.MICROSECONDS);
+	}
+
+	@Override
+	public long getAuthenticationCount() {
+		return authentication.getCount();
+	}
+
+	@Override
+	public long getAuthenticationFailures() {
+		return authenticationFailures.sum();
+	}
+
+	@Override
+	public double getAuthenticationMeanMicros() {
+		return authentication.getMean(TimeUnit.MICROSECONDS);
+	}
+
+	@Override
+	public long getAuthenticationMedianMicros() {
+		return authentication.getPercentile(50, TimeUnit.MICROSECONDS);
+	}
+
+	@Override
+	public long getAuthentication99thPercentileMicros() {
+		return authentication.getPercentile(99, TimeUnit.MICROSECONDS);
+	}
+
+	@Override
+	public long getAuthenticationMaxMicros() {
+		return authentication.getMax(TimeUnit.MICROSECONDS);
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMisses() {
+		return cacheMisses.sum();
+	}
+
+	@Override
+	public double getCacheHitRatio() {
+		final long hits = cacheHits.sum();
+		final long total = hits + cacheMisses.sum();
+		return total != 0 ? (double)hits / total : 0;
+	}
+}
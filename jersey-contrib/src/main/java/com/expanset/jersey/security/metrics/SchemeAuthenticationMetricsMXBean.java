@@ -0,0 +1,35 @@
+package com.expanset.jersey.security.metrics;
+
+/**
+ * JMX view of {@link SchemeAuthenticationMetrics}.
+ */
+public interface SchemeAuthenticationMetricsMXBean {
+
+	String getScheme();
+
+	long getTokenDecodingCount();
+
+	long getTokenDecodingFailures();
+
+	double getTokenDecodingMeanMicros();
+
+	long getTokenDecoding99thPercentileMicros();
+
+	long getAuthenticationCount();
+
+	long getAuthenticationFailures();
+
+	double getAuthenticationMeanMicros();
+
+	long getAuthenticationMedianMicros();
+
+	long getAuthentication99thPercentileMicros();
+
+	long getAuthenticationMaxMicros();
+
+	long getCacheHits();
+
+	long getCacheMisses();
+
+	double getCacheHitRatio();
+}
@@ -0,0 +1,110 @@
+package com.expanset.jersey.utils;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.apache.commons.lang.Validate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Marks threads, which process request in active request scope.
+ * <p>Mark is set while resource method is invoked (between events {@link RequestEvent.Type#RESOURCE_METHOD_START} 
+ * and {@link RequestEvent.Type#RESOURCE_METHOD_FINISHED}, which are triggered in the invoking thread) and while 
+ * response entity is written. Mark is cleared in the same thread, so threads of async requests are never left 
+ * marked. Used by {@link RequestScopeUtils#isInRequestScope} to avoid probing of request scope.</p>
+ */
+// NOTE Marker wraps all other interceptors.
+@Priority(0)
+public class RequestScopeMarker implements WriterInterceptor, ApplicationEventListener {
+
+	private final static ThreadLocal<Boolean> marker = new ThreadLocal<>();
+
+	/**
+	 * Request property, which is set if thread is marked by the start of resource method.
+	 */
+	private final static String MARKED_PROPERTY = RequestScopeMarker.class.getName() + ".marked";
+
+	private final static RequestEventListener eventListener = event -> {
+		switch(event.getType()) {
+		case RESOURCE_METHOD_START:
+			if(mark()) {
+				event.getContainerRequest().setProperty(MARKED_PROPERTY, Boolean.TRUE);
+			}
+			break;
+		case RESOURCE_METHOD_FINISHED:
+			final ContainerRequest request = event.getContainerRequest();
+			if(request.getProperty(MARKED_PROPERTY) != null) {
+				request.removeProperty(MARKED_PROPERTY);
+				marker.remove();
+			}
+			break;
+		default:
+			break;
+		}
+	};
+
+	/**
+	 * Registers marker in application if it is not registered yet.
+	 * @param context Feature context.
+	 */
+	public static void register(@Nonnull FeatureContext context) {
+		Validate.notNull(context, "context");
+
+		final Configuration config = context.getConfiguration();
+		if(!config.isRegistered(RequestScopeMarker.class)) {
+			context.register(RequestScopeMarker.class);
+		}
+	}
+
+	/**
+	 * @return true if current thread is marked as request processing thread.
+	 */
+	public static boolean isMarked() {
+		return marker.get() != null;
+	}
+
+	/**
+	 * Marks current thread.
+	 * @return true - thread is marked now, false - thread was marked already.
+	 */
+	protected static boolean mark() {
+		if(marker.get() != null) {
+			return false;
+		}
+		marker.set(Boolean.TRUE);
+		return true;
+	}
+
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context)
+			throws IOException, WebApplicationException {
+		final boolean marked = mark();
+		try {
+			context.proceed();
+		} finally {
+			if(marked) {
+				marker.remove();
+			}
+		}
+	}
+
+	@Override
+	public void onEvent(ApplicationEvent event) {
+	}
+
+	@Override
+	public RequestEventListener onRequest(RequestEvent requestEvent) {
+		return eventListener;
+	}
+}
@@ -6,6 +6,10 @@ import org.glassfish.jersey.process.internal.RequestScope.Instance;
 public final class RequestScopeUtils {
 	
 	public static boolean isInRequestScope(RequestScope requestScope) {
+		if(RequestScopeMarker.isMarked()) {
+			return true;
+		}
+		
 		// NOTE Because there is no method to direct check active scope. 
 		final Instance scope = requestScope.suspendCurrent();
 		if(scope == null) {
@@ -0,0 +1,144 @@
+package com.expanset.jersey.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompressionInterceptorTest {
+
+	private CompressionInterceptor interceptor;
+	
+	private MultivaluedMap<String, Object> headers;
+	
+	private ByteArrayOutputStream output;
+	
+	@Before
+	public void setUp() {
+		interceptor = new CompressionInterceptor();
+		interceptor.threshold = 64;
+		interceptor.deflaterPool = new DeflaterPool(6, 2);
+		
+		headers = new MultivaluedHashMap<>();
+		headers.putSingle(HttpHeaders.CONTENT_LENGTH, "1");
+		headers.putSingle(HttpHeaders.ETAG, new EntityTag("abc"));
+		output = new ByteArrayOutputStream();
+	}
+	
+	@Test
+	public void entityBelowThresholdIsWrittenAsIs() throws Exception {
+		final byte[] entity = entity(63);
+		
+		final CompressionInterceptor.CompressingOutputStream stream = interceptor.new CompressingOutputStream(output, headers);
+		stream.write(entity);
+		stream.finish();
+		stream.release();
+		
+		assertArrayEquals(entity, output.toByteArray());
+		assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("1", headers.getFirst(HttpHeaders.CONTENT_LENGTH));
+		assertEquals("abc", ((EntityTag)headers.getFirst(HttpHeaders.ETAG)).getValue());
+	}
+	
+	@Test
+	public void entityAboveThresholdIsGzipped() throws Exception {
+		final byte[] entity = entity(100000);
+		
+		final CompressionInterceptor.CompressingOutputStream stream = interceptor.new CompressingOutputStream(output, headers);
+		for(int offset = 0; offset < entity.length; offset += 1000) {
+			stream.write(entity, offset, 1000);
+		}
+		stream.finish();
+		stream.release();
+		
+		assertArrayEquals(entity, gunzip(output.toByteArray()));
+		assertEquals(CompressionFeature.GZIP, headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertFalse(headers.containsKey(HttpHeaders.CONTENT_LENGTH));
+		assertEquals("abc-gzip", ((EntityTag)headers.getFirst(HttpHeaders.ETAG)).getValue());
+	}
+	
+	@Test
+	public void flushedDataIsDecompressible() throws Exception {
+		final byte[] entity = entity(1000);
+		
+		final CompressionInterceptor.CompressingOutputStream stream = interceptor.new CompressingOutputStream(output, headers);
+		stream.write(entity);
+		stream.flush();
+		
+		// NOTE Header of gzip is 10 bytes, trailer is not written yet.
+		final byte[] flushed = output.toByteArray();
+		final Inflater inflater = new Inflater(true);
+		inflater.setInput(flushed, 10, flushed.length - 10);
+		final byte[] inflated = new byte[entity.length];
+		assertEquals(entity.length, inflater.inflate(inflated));
+		assertArrayEquals(entity, inflated);
+		inflater.end();
+		
+		stream.write(entity);
+		stream.finish();
+		stream.release();
+		
+		final byte[] expected = Arrays.copyOf(entity, entity.length * 2);
+		System.arraycopy(entity, 0, expected, entity.length, entity.length);
+		assertArrayEquals(expected, gunzip(output.toByteArray()));
+	}
+	
+	@Test
+	public void acceptEncodingIsNegotiated() {
+		assertTrue(CompressionInterceptor.acceptsGzip("gzip, deflate"));
+		assertTrue(CompressionInterceptor.acceptsGzip("x-gzip"));
+		assertTrue(CompressionInterceptor.acceptsGzip("deflate, *"));
+		assertFalse(CompressionInterceptor.acceptsGzip(null));
+		assertFalse(CompressionInterceptor.acceptsGzip("deflate"));
+		assertFalse(CompressionInterceptor.acceptsGzip("gzip;q=0, *"));
+		assertFalse(CompressionInterceptor.acceptsGzip("*;q=0"));
+	}
+	
+	@Test
+	public void compressedTagIsConverted() {
+		final EntityTag tag = CompressionInterceptor.toCompressedTag(new EntityTag("abc", true));
+		
+		assertEquals("abc-gzip", tag.getValue());
+		assertTrue(tag.isWeak());
+		assertEquals("abc", CompressionInterceptor.fromCompressedTag(tag).getValue());
+		assertNull(CompressionInterceptor.fromCompressedTag(new EntityTag("abc")));
+	}
+	
+	private static byte[] entity(int length) {
+		final byte[] entity = new byte[length];
+		final Random random = new Random(length);
+		for(int i = 0; i < length; i++) {
+			entity[i] = (byte)('a' + random.nextInt(4));
+		}
+		return entity;
+	}
+	
+	private static byte[] gunzip(byte[] data) throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		try(GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			final byte[] buffer = new byte[4096];
+			int length;
+			while((length = input.read(buffer)) > 0) {
+				result.write(buffer, 0, length);
+			}
+		}
+		return result.toByteArray();
+	}
+}
@@ -0,0 +1,110 @@
+package com.expanset.jersey.i18n;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedResourceStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void compiledResourcesAreReadBack() throws Exception {
+		final Map<String, Map<String, Object>> resources = new HashMap<>();
+		resources.put("", values("title", "Title", "greeting", "Hello {0}", "footer", "Footer"));
+		resources.put("_ru", values("title", "Заголовок", "greeting", "Привет {0}"));
+		resources.put("_ru_RU", values("title", "Заголовок RU"));
+
+		final Map<String, Long> lastModified = new HashMap<>();
+		lastModified.put("", 1L);
+		lastModified.put("_ru", 2L);
+		lastModified.put("_ru_RU", 3L);
+
+		final Path file = folder.newFile().toPath();
+		MappedResourceStore.compile(resources, lastModified, file);
+		final MappedResourceStore store = MappedResourceStore.open(file);
+
+		assertEquals(lastModified, store.getLastModified());
+		assertEquals(new HashSet<>(resources.keySet()), store.getBundles().keySet());
+
+		final ResourceBundle root = store.getBundles().get("");
+		assertEquals("Title", root.getString("title"));
+		assertEquals("Footer", root.getString("footer"));
+		assertEquals(Locale.ROOT, root.getLocale());
+
+		final ResourceBundle ruRu = store.getBundles().get("_ru_RU");
+		assertEquals(new Locale("ru", "RU"), ruRu.getLocale());
+		assertEquals("Заголовок RU", ruRu.getString("title"));
+		// NOTE Values of parents are resolved on compilation.
+		assertEquals("Привет {0}", ruRu.getString("greeting"));
+		assertEquals("Footer", ruRu.getString("footer"));
+		assertEquals(new HashSet<>(resources.get("").keySet()), ruRu.keySet());
+	}
+
+	@Test
+	public void valuesAreDecodedOnce() throws Exception {
+		final Map<String, Map<String, Object>> resources = new HashMap<>();
+		resources.put("", values("a", "A"));
+		resources.put("_en", values("b", "B"));
+
+		final Path file = folder.newFile().toPath();
+		MappedResourceStore.compile(resources, file);
+		final CompiledResourceBundle bundle = (CompiledResourceBundle)MappedResourceStore.open(file).getBundles().get("");
+
+		assertSame(bundle.getString("a"), bundle.getString("a"));
+		assertSame(bundle.handleKeySet(), bundle.handleKeySet());
+		assertFalse(bundle.containsKey("b"));
+	}
+
+	@Test
+	public void inheritedValuesAreDecodedOnceForAllLocales() throws Exception {
+		final Map<String, Map<String, Object>> resources = new HashMap<>();
+		resources.put("", values("footer", "Footer"));
+		resources.put("_en", values("title", "Title"));
+		resources.put("_ru", values("title", "Title"));
+
+		final Path file = folder.newFile().toPath();
+		MappedResourceStore.compile(resources, file);
+		final Map<String, ResourceBundle> bundles = MappedResourceStore.open(file).getBundles();
+
+		assertSame(bundles.get("").getString("footer"), bundles.get("_en").getString("footer"));
+		assertSame(bundles.get("_en").getString("footer"), bundles.get("_ru").getString("footer"));
+		// NOTE Equal values of different locales are stored once too.
+		assertSame(bundles.get("_en").getString("title"), bundles.get("_ru").getString("title"));
+	}
+
+	@Test
+	public void mappedBundleFormatsMessages() throws Exception {
+		final Map<String, Map<String, Object>> resources = new HashMap<>();
+		resources.put("_en", values("greeting", "Hello {0}, you have {1} messages"));
+
+		final Path file = folder.newFile().toPath();
+		MappedResourceStore.compile(resources, file);
+		final ResourceBundle bundle = MappedResourceStore.open(file).getBundles().get("_en");
+
+		assertTrue(bundle instanceof CompiledResourceBundle);
+		assertEquals("Hello Bob, you have 3 messages", ResourceFormatter.format(bundle, "greeting", "Bob", 3));
+		assertEquals("Hello Ann, you have 5 messages", ResourceFormatter.format(bundle, "greeting", "Ann", 5));
+	}
+
+	private static Map<String, Object> values(String... keysAndValues) {
+		final Map<String, Object> values = new HashMap<>();
+		for(int i = 0; i < keysAndValues.length; i += 2) {
+			values.put(keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return values;
+	}
+}
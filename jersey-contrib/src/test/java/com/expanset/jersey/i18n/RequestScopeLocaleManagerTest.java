@@ -0,0 +1,82 @@
+package com.expanset.jersey.i18n;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.junit.Test;
+
+public class RequestScopeLocaleManagerTest {
+
+	@Test
+	public void defaultLocaleIsResolvedToSupportedInstance() {
+		final RequestScopeLocaleManager manager = manager("ru_ru", "en,ru-RU");
+		
+		assertSame(manager.supportedLocales.getLocales().get(1), manager.defaultLocale);
+	}
+	
+	@Test
+	public void unsupportedDefaultLocaleIsIgnored() {
+		final RequestScopeLocaleManager manager = manager("de", "en,ru-RU");
+		manager.requestProvider = () -> request(null, "ru-RU,ru;q=0.9");
+		
+		assertNull(manager.defaultLocale);
+		assertSame(manager.supportedLocales.getLocales().get(1), manager.determineLocale());
+	}
+	
+	@Test
+	public void languageOfRequestIsResolvedToSupportedInstance() {
+		final RequestScopeLocaleManager manager = manager(null, "en,ru-RU");
+		
+		manager.requestProvider = () -> request(Locale.forLanguageTag("ru-RU"), "en");
+		assertSame(manager.supportedLocales.getLocales().get(1), manager.determineLocale());
+		
+		// NOTE Unsupported language of request is ignored, locale is negotiated by "Accept-Language".
+		manager.requestProvider = () -> request(Locale.GERMAN, "en");
+		assertSame(manager.supportedLocales.getLocales().get(0), manager.determineLocale());
+	}
+	
+	@Test
+	public void anyLocaleIsAcceptedWithoutSupportedLocales() {
+		final RequestScopeLocaleManager manager = manager("de", null);
+		
+		assertEquals(Locale.GERMAN, manager.defaultLocale);
+	}
+	
+	private static RequestScopeLocaleManager manager(String defaultLocale, String supportedLocales) {
+		final Map<String, Object> properties = new HashMap<>();
+		properties.put(I18nFeature.DEFAULT_LOCALE, defaultLocale);
+		properties.put(I18nFeature.SUPPORTED_LOCALES, supportedLocales);
+		
+		return new RequestScopeLocaleManager((Configuration)Proxy.newProxyInstance(
+				Configuration.class.getClassLoader(), 
+				new Class<?>[] { Configuration.class }, 
+				(proxy, method, args) -> 
+					"getProperty".equals(method.getName()) ? properties.get(args[0]) : null));
+	}
+	
+	private static ContainerRequestContext request(Locale language, String acceptLanguage) {
+		return (ContainerRequestContext)Proxy.newProxyInstance(
+				ContainerRequestContext.class.getClassLoader(), 
+				new Class<?>[] { ContainerRequestContext.class }, 
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+					case "getLanguage":
+						return language;
+					case "getHeaderString":
+						return HttpHeaders.ACCEPT_LANGUAGE.equals(args[0]) ? acceptLanguage : null;
+					default:
+						return null;
+					}
+				});
+	}
+}
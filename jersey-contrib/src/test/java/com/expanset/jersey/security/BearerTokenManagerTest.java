@@ -0,0 +1,139 @@
+package com.expanset.jersey.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.ws.rs.core.Configuration;
+
+import org.junit.Test;
+
+import com.expanset.jersey.security.BearerTokenManager.BearerToken;
+
+public class BearerTokenManagerTest {
+
+	private static final String KEY1 = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+	private static final String KEY2 = Base64.getEncoder().encodeToString("fedcba9876543210fedcba9876543210".getBytes());
+
+	@Test
+	public void createdTokenIsVerified() {
+		final BearerTokenManager manager = manager(null, "k1", KEY1);
+
+		final String token = manager.createToken("user@example.com", Arrays.asList("admin", "user"), 60);
+		final Optional<BearerToken> result = manager.verify(token);
+
+		assertTrue(result.isPresent());
+		assertEquals("user@example.com", result.get().getName());
+		assertEquals(new HashSet<>(Arrays.asList("admin", "user")), result.get().getRoles());
+		assertTrue(result.get().getExpiration() * 1000 > System.currentTimeMillis());
+	}
+
+	@Test
+	public void tokenWithoutRolesIsVerified() {
+		final BearerTokenManager manager = manager(null, "k1", KEY1);
+
+		final Optional<BearerToken> result = manager.verify(manager.createToken("user", Arrays.asList(), 60));
+
+		assertTrue(result.isPresent());
+		assertTrue(result.get().getRoles().isEmpty());
+	}
+
+	@Test
+	public void tamperedTokenIsRejected() {
+		final BearerTokenManager manager = manager(null, "k1", KEY1);
+		final String token = manager.createToken("user", Arrays.asList("user"), 60);
+		final String[] parts = token.split("\\.");
+
+		final String claims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+				"sub=user&exp=9999999999&roles=admin".getBytes(StandardCharsets.UTF_8));
+		assertFalse(manager.verify(parts[0] + "." + claims + "." + parts[2]).isPresent());
+
+		// NOTE First character of signature has no padding bits.
+		final String signature = (parts[2].charAt(0) == 'A' ? 'B' : 'A') + parts[2].substring(1);
+		assertFalse(manager.verify(parts[0] + "." + parts[1] + "." + signature).isPresent());
+	}
+
+	@Test
+	public void malformedTokenIsRejected() {
+		final BearerTokenManager manager = manager(null, "k1", KEY1);
+
+		assertFalse(manager.verify("").isPresent());
+		assertFalse(manager.verify("k1").isPresent());
+		assertFalse(manager.verify("k1.abc").isPresent());
+		assertFalse(manager.verify(".abc.def").isPresent());
+		assertFalse(manager.verify("k1.!!!.###").isPresent());
+	}
+
+	@Test
+	public void expiredTokenIsRejected() throws Exception {
+		final BearerTokenManager manager = manager(null, "k1", KEY1);
+
+		assertFalse(manager.verify(sign("k1", KEY1, "sub=user&exp=1&roles=user")).isPresent());
+		assertTrue(manager.verify(sign("k1", KEY1, "sub=user&exp=9999999999&roles=user")).isPresent());
+	}
+
+	@Test
+	public void tokenWithoutSubjectIsRejected() throws Exception {
+		final BearerTokenManager manager = manager(null, "k1", KEY1);
+
+		assertFalse(manager.verify(sign("k1", KEY1, "exp=9999999999&roles=user")).isPresent());
+	}
+
+	@Test
+	public void tokensOfAllKeysAreVerified() {
+		final BearerTokenManager oldManager = manager(null, "k1", KEY1);
+		final BearerTokenManager newManager = manager("k2", "k1", KEY1, "k2", KEY2);
+		final BearerTokenManager otherManager = manager(null, "k2", KEY2);
+
+		final String oldToken = oldManager.createToken("user", Arrays.asList("user"), 60);
+		final String newToken = newManager.createToken("user", Arrays.asList("user"), 60);
+
+		assertTrue(newToken.startsWith("k2."));
+		assertTrue(newManager.verify(oldToken).isPresent());
+		assertTrue(newManager.verify(newToken).isPresent());
+		assertFalse(oldManager.verify(newToken).isPresent());
+		assertFalse(otherManager.verify(oldToken).isPresent());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void unknownSigningKeyIsRejected() {
+		manager("k3", "k1", KEY1, "k2", KEY2);
+	}
+
+	private static BearerTokenManager manager(String signingKey, String... keys) {
+		final Map<String, Object> properties = new HashMap<>();
+		final Map<String, String> keyMap = new HashMap<>();
+		for(int i = 0; i < keys.length; i += 2) {
+			keyMap.put(keys[i], keys[i + 1]);
+		}
+		properties.put(BearerTokenAuthenticationFeature.KEYS, keyMap);
+		properties.put(BearerTokenAuthenticationFeature.SIGNING_KEY, signingKey);
+
+		final Configuration config = (Configuration)Proxy.newProxyInstance(
+				Configuration.class.getClassLoader(),
+				new Class<?>[] { Configuration.class },
+				(proxy, method, args) -> "getProperty".equals(method.getName()) ? properties.get(args[0]) : null);
+		return new BearerTokenManager(config);
+	}
+
+	private static String sign(String keyId, String key, String claims) throws Exception {
+		final String signedPart = keyId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(
+				claims.getBytes(StandardCharsets.UTF_8));
+		final Mac mac = Mac.getInstance(BearerTokenAuthenticationFeature.ALGORITHM_DEFAULT);
+		mac.init(new SecretKeySpec(Base64.getDecoder().decode(key), BearerTokenAuthenticationFeature.ALGORITHM_DEFAULT));
+		return signedPart + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(
+				mac.doFinal(signedPart.getBytes(StandardCharsets.US_ASCII)));
+	}
+}
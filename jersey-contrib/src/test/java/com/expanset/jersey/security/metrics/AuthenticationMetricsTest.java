@@ -0,0 +1,101 @@
+package com.expanset.jersey.security.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+public class AuthenticationMetricsTest {
+
+	@Test
+	public void metricsAreRecordedByScheme() {
+		final DefaultAuthenticationMetrics metrics = new DefaultAuthenticationMetrics();
+		metrics.recordTokenDecoding(AuthenticationMetrics.COOKIE, 2000, true);
+		metrics.recordTokenDecoding(AuthenticationMetrics.COOKIE, 4000, false);
+		metrics.recordAuthentication(AuthenticationMetrics.COOKIE, 1000, false);
+		metrics.recordCacheHit(AuthenticationMetrics.COOKIE);
+		metrics.recordCacheHit(AuthenticationMetrics.COOKIE);
+		metrics.recordCacheHit(AuthenticationMetrics.COOKIE);
+		metrics.recordCacheMiss(AuthenticationMetrics.COOKIE);
+		metrics.recordAuthentication(AuthenticationMetrics.BASIC, 1000, true);
+		
+		final SchemeAuthenticationMetrics cookie = metrics.getScheme(AuthenticationMetrics.COOKIE);
+		assertEquals(2, cookie.getTokenDecodingCount());
+		assertEquals(1, cookie.getTokenDecodingFailures());
+		assertEquals(3, cookie.getTokenDecodingMeanMicros(), 0.001);
+		assertEquals(1, cookie.getAuthenticationCount());
+		assertEquals(1, cookie.getAuthenticationFailures());
+		assertEquals(0.75, cookie.getCacheHitRatio(), 0.001);
+		
+		final SchemeAuthenticationMetrics basic = metrics.getScheme(AuthenticationMetrics.BASIC);
+		assertEquals(1, basic.getAuthenticationCount());
+		assertEquals(0, basic.getAuthenticationFailures());
+		assertEquals(0, basic.getCacheHitRatio(), 0);
+		assertEquals(2, metrics.getSchemes().size());
+	}
+	
+	@Test
+	public void listenerIsNotifiedOfSchemes() {
+		final DefaultAuthenticationMetrics metrics = new DefaultAuthenticationMetrics();
+		metrics.recordCacheHit(AuthenticationMetrics.SESSION);
+		
+		final List<String> schemes = new ArrayList<>();
+		metrics.addSchemeListener(scheme -> schemes.add(scheme.getScheme()));
+		metrics.recordCacheHit(AuthenticationMetrics.BEARER);
+		metrics.recordCacheHit(AuthenticationMetrics.BEARER);
+		
+		assertEquals(2, schemes.size());
+		assertEquals(AuthenticationMetrics.SESSION, schemes.get(0));
+		assertEquals(AuthenticationMetrics.BEARER, schemes.get(1));
+		assertSame(metrics.getScheme(AuthenticationMetrics.BEARER), metrics.getScheme(AuthenticationMetrics.BEARER));
+	}
+	
+	@Test
+	public void applicationsAreRegisteredSeparately() throws Exception {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		final JmxAuthenticationMetricsReporter first = new JmxAuthenticationMetricsReporter();
+		final JmxAuthenticationMetricsReporter second = new JmxAuthenticationMetricsReporter();
+		assertNotEquals(first.getApplication(), second.getApplication());
+		
+		final DefaultAuthenticationMetrics firstMetrics = new DefaultAuthenticationMetrics();
+		final DefaultAuthenticationMetrics secondMetrics = new DefaultAuthenticationMetrics();
+		firstMetrics.recordCacheHit(AuthenticationMetrics.BASIC);
+		first.start(firstMetrics);
+		second.start(secondMetrics);
+		secondMetrics.recordCacheMiss(AuthenticationMetrics.BASIC);
+		
+		final ObjectName firstName = first.getObjectName(AuthenticationMetrics.BASIC);
+		final ObjectName secondName = second.getObjectName(AuthenticationMetrics.BASIC);
+		try {
+			assertEquals(1L, server.getAttribute(firstName, "CacheHits"));
+			assertEquals(1L, server.getAttribute(secondName, "CacheMisses"));
+		} finally {
+			first.stop();
+			second.stop();
+		}
+		
+		assertFalse(server.isRegistered(firstName));
+		assertFalse(server.isRegistered(secondName));
+	}
+	
+	@Test
+	public void applicationNameIsUsed() throws Exception {
+		final JmxAuthenticationMetricsReporter reporter = 
+				new JmxAuthenticationMetricsReporter("test.metrics", "shop");
+		
+		final ObjectName name = reporter.getObjectName(AuthenticationMetrics.SESSION);
+		assertEquals("test.metrics", name.getDomain());
+		assertEquals("\"shop\"", name.getKeyProperty("application"));
+		assertTrue(name.getKeyProperty("scheme").contains(AuthenticationMetrics.SESSION));
+	}
+}
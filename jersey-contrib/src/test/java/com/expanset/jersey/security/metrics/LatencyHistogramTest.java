@@ -0,0 +1,68 @@
+package com.expanset.jersey.security.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void emptyHistogram() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMean(TimeUnit.NANOSECONDS), 0);
+		assertEquals(0, histogram.getMax(TimeUnit.NANOSECONDS));
+		assertEquals(0, histogram.getPercentile(99, TimeUnit.NANOSECONDS));
+	}
+	
+	@Test
+	public void smallValuesAreExact() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for(long i = 0; i < LatencyHistogram.SUB_BUCKETS; i++) {
+			histogram.record(i);
+		}
+		histogram.record(-5);
+		
+		assertEquals(LatencyHistogram.SUB_BUCKETS + 1, histogram.getCount());
+		assertEquals(0, histogram.getPercentile(0, TimeUnit.NANOSECONDS));
+		assertEquals(3, histogram.getPercentile(50, TimeUnit.NANOSECONDS));
+		assertEquals(LatencyHistogram.SUB_BUCKETS - 1, histogram.getPercentile(100, TimeUnit.NANOSECONDS));
+	}
+	
+	@Test
+	public void bucketsCoverAllValues() {
+		long previousUpperBound = -1;
+		for(int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+			final long upperBound = LatencyHistogram.bucketUpperBound(i);
+			assertEquals(i, LatencyHistogram.bucketIndex(previousUpperBound + 1));
+			assertEquals(i, LatencyHistogram.bucketIndex(upperBound));
+			previousUpperBound = upperBound;
+		}
+		assertEquals(Long.MAX_VALUE, previousUpperBound);
+	}
+	
+	@Test
+	public void percentileErrorIsBounded() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for(long i = 1; i <= 10000; i++) {
+			histogram.record(i * 1000);
+		}
+		
+		assertEquals(10000, histogram.getCount());
+		assertEquals(5000.5, histogram.getMean(TimeUnit.MICROSECONDS), 0.001);
+		assertEquals(10000, histogram.getMax(TimeUnit.MICROSECONDS));
+		assertEquals(10000, histogram.getPercentile(100, TimeUnit.MICROSECONDS));
+		
+		assertInRange(5000, histogram.getPercentile(50, TimeUnit.MICROSECONDS));
+		assertInRange(9900, histogram.getPercentile(99, TimeUnit.MICROSECONDS));
+	}
+	
+	private static void assertInRange(long expected, long actual) {
+		assertTrue(actual + " < " + expected, actual >= expected);
+		assertTrue(actual + " > " + expected, actual <= expected * 1.125);
+	}
+}
@@ -0,0 +1,82 @@
+package com.expanset.jersey.utils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.junit.Test;
+
+public class RequestScopeMarkerTest {
+
+	@Test
+	public void threadIsMarkedWhileResourceMethodIsInvoked() {
+		final RequestEventListener listener = new RequestScopeMarker().onRequest(null);
+		final ContainerRequest request = request();
+
+		listener.onEvent(event(RequestEvent.Type.MATCHING_START, request));
+		assertFalse(RequestScopeMarker.isMarked());
+		
+		listener.onEvent(event(RequestEvent.Type.RESOURCE_METHOD_START, request));
+		assertTrue(RequestScopeMarker.isMarked());
+		
+		listener.onEvent(event(RequestEvent.Type.RESOURCE_METHOD_FINISHED, request));
+		assertFalse(RequestScopeMarker.isMarked());
+		assertNull(request.getProperty(RequestScopeMarker.class.getName() + ".marked"));
+	}
+	
+	@Test
+	public void markOfWriterIsKept() throws Exception {
+		final RequestScopeMarker marker = new RequestScopeMarker();
+		final RequestEventListener listener = marker.onRequest(null);
+		final ContainerRequest request = request();
+		final boolean[] proceeded = new boolean[1];
+
+		marker.aroundWriteTo((WriterInterceptorContext)Proxy.newProxyInstance(
+				WriterInterceptorContext.class.getClassLoader(), 
+				new Class<?>[] { WriterInterceptorContext.class }, 
+				(proxy, method, args) -> {
+					if("proceed".equals(method.getName())) {
+						assertTrue(RequestScopeMarker.isMarked());
+						listener.onEvent(event(RequestEvent.Type.RESOURCE_METHOD_START, request));
+						listener.onEvent(event(RequestEvent.Type.RESOURCE_METHOD_FINISHED, request));
+						assertTrue(RequestScopeMarker.isMarked());
+						proceeded[0] = true;
+					}
+					return null;
+				}));
+		
+		assertTrue(proceeded[0]);
+		assertFalse(RequestScopeMarker.isMarked());
+	}
+	
+	private static ContainerRequest request() {
+		return new ContainerRequest(
+				URI.create("http://localhost/"), URI.create("http://localhost/items"), "GET", 
+				null, new MapPropertiesDelegate());
+	}
+	
+	private static RequestEvent event(RequestEvent.Type type, ContainerRequest request) {
+		return (RequestEvent)Proxy.newProxyInstance(
+				RequestEvent.class.getClassLoader(), 
+				new Class<?>[] { RequestEvent.class }, 
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+					case "getType":
+						return type;
+					case "getContainerRequest":
+						return request;
+					default:
+						return null;
+					}
+				});
+	}
+}
@@ -0,0 +1,22 @@
+package com.expanset.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+/**
+ * Registers Jackson Afterburner module.
+ * <p>Module 'com.fasterxml.jackson.module:jackson-module-afterburner' is optional dependency, so
+ * this class is loaded only if {@link com.expanset.jersey.jackson.JacksonFeature#HIGH_PERFORMANCE} is enabled.</p>
+ */
+final class AfterburnerSupport {
+
+	/**
+	 * @param objectMapper Mapper to register module in.
+	 */
+	public static void register(ObjectMapper objectMapper) {
+		// NOTE Generated accessors are used instead of reflection.
+		objectMapper.registerModule(new AfterburnerModule());
+	}
+	
+	private AfterburnerSupport() {}
+}
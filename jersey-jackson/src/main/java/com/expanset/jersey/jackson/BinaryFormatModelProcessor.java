@@ -0,0 +1,92 @@
+package com.expanset.jersey.jackson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+/**
+ * Adds binary formats Smile and CBOR into produced and consumed media types of resource methods, 
+ * which produce or consume JSON. 
+ * <p>So clients, which accept or send binary format only, are served by resources, declared for JSON.</p>
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public class BinaryFormatModelProcessor implements ModelProcessor {
+
+	private static final MediaType SMILE_MEDIA_TYPE = MediaType.valueOf(JacksonFeature.APPLICATION_SMILE);
+
+	private static final MediaType CBOR_MEDIA_TYPE = MediaType.valueOf(JacksonFeature.APPLICATION_CBOR);
+	
+	@Override
+	public ResourceModel processResourceModel(ResourceModel resourceModel, Configuration configuration) {
+		return process(resourceModel, false);
+	}
+
+	@Override
+	public ResourceModel processSubResource(ResourceModel subResourceModel, Configuration configuration) {
+		return process(subResourceModel, true);
+	}
+	
+	protected ResourceModel process(ResourceModel resourceModel, boolean subResource) {
+		final ResourceModel.Builder builder = new ResourceModel.Builder(subResource);
+		for(Resource resource : resourceModel.getResources()) {
+			builder.addResource(process(resource));
+		}
+		return builder.build();
+	}
+	
+	protected Resource process(Resource resource) {
+		final Resource.Builder builder = Resource.builder(resource);
+		for(ResourceMethod resourceMethod : resource.getResourceMethods()) {
+			final List<MediaType> producedTypes = getBinaryTypes(resourceMethod.getProducedTypes());
+			final List<MediaType> consumedTypes = getBinaryTypes(resourceMethod.getConsumedTypes());
+			if(!producedTypes.isEmpty() || !consumedTypes.isEmpty()) {
+				builder.updateMethod(resourceMethod)
+					.produces(producedTypes)
+					.consumes(consumedTypes)
+					.build();
+			}
+		}
+		for(Resource childResource : resource.getChildResources()) {
+			builder.replaceChildResource(childResource, process(childResource));
+		}
+		return builder.build();
+	}
+	
+	/**
+	 * @param mediaTypes Declared media types.
+	 * @return Binary media types to add, empty if JSON is not declared or binary types are declared already.
+	 */
+	protected List<MediaType> getBinaryTypes(List<MediaType> mediaTypes) {
+		final List<MediaType> binaryTypes = new ArrayList<>(2);
+		boolean json = false;
+		boolean smile = false;
+		boolean cbor = false;
+		for(MediaType mediaType : mediaTypes) {
+			if(mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+				continue;
+			}
+			json |= JacksonProviderUtils.isSupported(mediaType) && !JacksonProviderUtils.isBinary(mediaType);
+			smile |= JacksonProviderUtils.isSmile(mediaType);
+			cbor |= JacksonProviderUtils.isCbor(mediaType);
+		}
+		if(json) {
+			// NOTE JSON is declared first, so it is preferred, if client accepts any format.
+			if(!smile) {
+				binaryTypes.add(SMILE_MEDIA_TYPE);
+			}
+			if(!cbor) {
+				binaryTypes.add(CBOR_MEDIA_TYPE);
+			}
+		}
+		return binaryTypes;
+	}
+}
@@ -0,0 +1,84 @@
+package com.expanset.jersey.jackson;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ContainerResponse;
+
+/**
+ * Replaces JSON in response with binary format Smile or CBOR, if client prefers it. 
+ * So resources, which produce JSON, support binary formats without changes.
+ * <p>Usually media type is negotiated by Jersey with binary formats, added by 
+ * {@link com.expanset.jersey.jackson.BinaryFormatModelProcessor}. Media type is replaced only in responses 
+ * of resource methods, which return entity, so media type set by resource through {@link Response} 
+ * or by exception mapper is never replaced.</p>
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+public class BinaryFormatNegotiationFilter implements ContainerResponseFilter {
+
+	private static final String ACCEPT_VARY = HttpHeaders.ACCEPT;
+	
+	@Context
+	protected ResourceInfo resourceInfo;
+	
+	@Override
+	public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) 
+			throws IOException {
+		final MediaType mediaType = responseContext.getMediaType();
+		if(mediaType == null 
+				|| !responseContext.hasEntity() 
+				|| !MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType)
+				|| mediaType.isWildcardSubtype()
+				|| JacksonProviderUtils.isUntouchable(responseContext.getEntityClass())) {
+			return;
+		}
+		
+		if(isNegotiated(responseContext)) {
+			// NOTE Acceptable media types are sorted by quality.
+			for(MediaType acceptable : requestContext.getAcceptableMediaTypes()) {
+				if(JacksonProviderUtils.isSmile(acceptable)) {
+					responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, JacksonFeature.APPLICATION_SMILE);
+					break;
+				}
+				if(JacksonProviderUtils.isCbor(acceptable)) {
+					responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, JacksonFeature.APPLICATION_CBOR);
+					break;
+				}
+				if(acceptable.isCompatible(mediaType)) {
+					break;
+				}
+			}
+		}
+		
+		final String vary = responseContext.getHeaderString(HttpHeaders.VARY);
+		if(vary == null) {
+			responseContext.getHeaders().putSingle(HttpHeaders.VARY, ACCEPT_VARY);
+		} else if(!vary.contains("*") && !vary.toLowerCase().contains(ACCEPT_VARY.toLowerCase())) {
+			responseContext.getHeaders().putSingle(HttpHeaders.VARY, vary + ", " + ACCEPT_VARY);
+		}
+	}
+	
+	/**
+	 * @param responseContext Response.
+	 * @return true - media type of response is negotiated by Jersey, not set by resource or exception mapper.
+	 */
+	protected boolean isNegotiated(ContainerResponseContext responseContext) {
+		if(responseContext instanceof ContainerResponse 
+				&& ((ContainerResponse)responseContext).isMappedFromException()) {
+			return false;
+		}
+		final Method resourceMethod = resourceInfo != null ? resourceInfo.getResourceMethod() : null;
+		return resourceMethod != null && !Response.class.isAssignableFrom(resourceMethod.getReturnType());
+	}
+}
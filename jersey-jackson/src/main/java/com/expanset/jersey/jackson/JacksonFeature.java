@@ -1,18 +1,125 @@
 package com.expanset.jersey.jackson;
 
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.internal.InternalProperties;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.jackson.internal.FilteringJacksonJaxbJsonProvider;
+import org.glassfish.jersey.jackson.internal.JacksonFilteringFeature;
+import org.glassfish.jersey.message.filtering.EntityFilteringFeature;
+
+import com.fasterxml.jackson.jaxrs.base.JsonMappingExceptionMapper;
+import com.fasterxml.jackson.jaxrs.base.JsonParseExceptionMapper;
 
 /**
  * Using Jackson library for JSON requests and responses.
  * <p>You can register manually configured {@link com.fasterxml.jackson.databind.ObjectMapper} in the container of services</p>
+ * <p>JSON is read and written by {@link com.expanset.jersey.jackson.JsonMessageBodyProvider}. 
+ * Resource methods may return {@link java.util.stream.Stream} or {@link java.util.Iterator} to write large arrays, 
+ * see {@link com.expanset.jersey.jackson.JsonStreamMessageBodyWriter}. Large JSON arrays in requests may be read 
+ * element by element through {@link com.expanset.jersey.jackson.JsonStream} parameter.</p>
+ * <p>Clients may request binary formats {@link com.expanset.jersey.jackson.JacksonFeature#APPLICATION_SMILE} or 
+ * {@link com.expanset.jersey.jackson.JacksonFeature#APPLICATION_CBOR} instead of JSON, 
+ * see {@link com.expanset.jersey.jackson.BinaryFormatNegotiationFilter}. Binary formats are added into media types 
+ * of resource methods, which produce or consume JSON, see {@link com.expanset.jersey.jackson.BinaryFormatModelProcessor}.</p>
+ * <p>If {@link org.glassfish.jersey.message.filtering.EntityFilteringFeature} is enabled, JSON is read and written 
+ * by Jersey provider with entity filtering support, binary formats are not supported then.</p>
+ * <p>Configuration parameters:</p>
+ * <ul>
+ * <li>{@link com.expanset.jersey.jackson.JacksonFeature#HIGH_PERFORMANCE}</li>
+ * <li>{@link com.expanset.jersey.jackson.JacksonFeature#STREAM_FLUSH_INTERVAL}</li>
+ * </ul>
  */
-public class JacksonFeature extends org.glassfish.jersey.jackson.JacksonFeature {
+public class JacksonFeature implements Feature {
+
+	/**
+	 * Media type of binary JSON-compatible format Smile.
+	 */
+	public final static String APPLICATION_SMILE = "application/x-jackson-smile";
 
+	/**
+	 * Media type of binary JSON-compatible format CBOR.
+	 */
+	public final static String APPLICATION_CBOR = "application/cbor";
+	
+	/**
+     * {@link Boolean} property enabling the high performance mode: 
+     * Jackson Afterburner module is registered (generated accessors are used instead of reflection), and 
+     * serializers and deserializers of entity types of resource methods are created on application start.
+     * <p>Module 'com.fasterxml.jackson.module:jackson-module-afterburner' must be added into dependencies.</p>
+     * <p>Module is registered in the copy of {@link com.fasterxml.jackson.databind.ObjectMapper}, 
+     * registered in the container of services, the registered mapper is not changed.</p>
+     * <p>Default value is false.</p>
+	 */
+	public final static String HIGH_PERFORMANCE = JacksonFeature.class.getName() + ".highPerformance";
+	
+	/**
+     * {@link Integer} property defining the count of elements, after which output is flushed 
+     * while {@link java.util.stream.Stream} or {@link java.util.Iterator} is written.
+     * <p>Default value is 100.</p>
+	 */
+	public final static String STREAM_FLUSH_INTERVAL = JacksonFeature.class.getName() + ".streamFlushInterval";
+	
+	/**
+	 * Default value for {@link com.expanset.jersey.jackson.JacksonFeature#STREAM_FLUSH_INTERVAL}.
+	 */
+	public final static int STREAM_FLUSH_INTERVAL_DEFAULT = 100;
+	
+	/**
+	 * Name of this feature for {@link org.glassfish.jersey.internal.InternalProperties#JSON_FEATURE}.
+	 */
+	private final static String JSON_FEATURE = JacksonFeature.class.getSimpleName();
+	
 	@Override
 	public boolean configure(FeatureContext context) {
-		super.configure(context);
+		final Configuration config = context.getConfiguration();
+		
+		final String jsonFeature = CommonProperties.getValue(
+				config.getProperties(), 
+				config.getRuntimeType(), 
+				InternalProperties.JSON_FEATURE, 
+				JSON_FEATURE, 
+				String.class);
+		// NOTE Other JSON feature is selected by application.
+		if(!JSON_FEATURE.equalsIgnoreCase(jsonFeature)) {
+			return false;
+		}
+		context.property(
+				PropertiesHelper.getPropertyNameForRuntime(InternalProperties.JSON_FEATURE, config.getRuntimeType()), 
+				JSON_FEATURE);
+		
+		final String disableMoxy = CommonProperties.MOXY_JSON_FEATURE_DISABLE + '.' 
+				+ config.getRuntimeType().name().toLowerCase();
+		context.property(disableMoxy, true);
 		
 		context.register(ObjectMapperProvider.class);
+		if(!config.isRegistered(JsonMessageBodyProvider.class) 
+				&& !config.isRegistered(FilteringJacksonJaxbJsonProvider.class)) {
+			context.register(JsonParseExceptionMapper.class);
+			context.register(JsonMappingExceptionMapper.class);
+			if(EntityFilteringFeature.enabled(config)) {
+				// NOTE Entity filtering is supported by Jersey provider only, readers and writers are not cached. 
+				context.register(JacksonFilteringFeature.class);
+				context.register(
+						FilteringJacksonJaxbJsonProvider.class, MessageBodyReader.class, MessageBodyWriter.class);
+			} else {
+				context.register(JsonMessageBodyProvider.class, MessageBodyReader.class, MessageBodyWriter.class);
+				context.register(BinaryFormatModelProcessor.class);
+				context.register(BinaryFormatNegotiationFilter.class);
+			}
+			context.register(JsonStreamMessageBodyWriter.class);
+			context.register(JsonStreamMessageBodyReader.class);
+		}
+		
+		final Boolean highPerformance = (Boolean)config.getProperty(HIGH_PERFORMANCE);
+		if(highPerformance != null && highPerformance.booleanValue()) {
+			context.register(JacksonPreloader.class);
+		}
 
 		return true;
 	}
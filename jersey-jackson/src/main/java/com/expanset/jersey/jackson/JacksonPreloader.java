@@ -0,0 +1,130 @@
+package com.expanset.jersey.jackson;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Providers;
+
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Parameter;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Creates serializers and deserializers for entity types of resource methods on application start,
+ * so first requests do not pay for it. 
+ * See {@link com.expanset.jersey.jackson.JacksonFeature#HIGH_PERFORMANCE}.
+ */
+public class JacksonPreloader implements ApplicationEventListener {
+
+	@Inject
+    protected Providers providers;
+	
+	protected ObjectMapperProvider objectMapperProvider;
+	
+	private final static Logger log = LoggerFactory.getLogger(JacksonPreloader.class);
+	
+	@PostConstruct
+	public void initialize() {
+		objectMapperProvider = ObjectMapperProvider.resolve(providers);
+	}
+	
+	@Override
+	public void onEvent(ApplicationEvent event) {
+		if(event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED) {
+			try {
+				final int count = preload(event.getResourceModel().getResources());
+				log.debug("Jackson serializers of {} entity types are preloaded", count);
+			} catch (Throwable e) {
+				// NOTE Preloading is optimization only.
+				log.warn("Unable to preload Jackson serializers", e);
+			}
+		}
+	}
+
+	@Override
+	public RequestEventListener onRequest(RequestEvent requestEvent) {
+		return null;
+	}
+	
+	protected int preload(List<Resource> resources) {
+		int count = 0;
+		for(Resource resource : resources) {
+			for(ResourceMethod resourceMethod : resource.getAllMethods()) {
+				try {
+					count += preload(resourceMethod);
+				} catch (Throwable e) {
+					// NOTE Other methods are preloaded anyway.
+					log.warn("Unable to preload Jackson serializers for " + resourceMethod, e);
+				}
+			}
+			count += preload(resource.getChildResources());
+		}
+		return count;
+	}
+	
+	protected int preload(ResourceMethod resourceMethod) {
+		final ObjectMapper mapper = objectMapperProvider.getContext(null);
+		final Invocable invocable = resourceMethod.getInvocable();
+		
+		int count = 0;
+		Type responseType = invocable.getResponseType();
+		final Class<?> rawResponseType = invocable.getRawResponseType();
+		if(rawResponseType != null && JsonStreamMessageBodyWriter.isStream(rawResponseType)) {
+			// NOTE Streams are written element by element, see JsonStreamMessageBodyWriter.
+			responseType = JacksonProviderUtils.getElementType(responseType);
+		}
+		final JavaType responseJavaType = mapper.getTypeFactory().constructType(responseType);
+		if(isEntityType(responseJavaType.getRawClass())) {
+			objectMapperProvider.getWriter(
+					responseType, 
+					JacksonProviderUtils.getView(invocable.getHandlingMethod().getAnnotations()), 
+					MediaType.APPLICATION_JSON_TYPE);
+			mapper.canSerialize(responseJavaType.getRawClass());
+			count++;
+		}
+		
+		for(Parameter parameter : invocable.getParameters()) {
+			if(parameter.getSource() != Parameter.Source.ENTITY) {
+				continue;
+			}
+			Type parameterType = parameter.getType();
+			if(parameter.getRawType() != null && JsonStream.class.isAssignableFrom(parameter.getRawType())) {
+				// NOTE Elements of stream are read one by one, see JsonStreamMessageBodyReader.
+				parameterType = JacksonProviderUtils.getElementType(parameterType);
+			}
+			final JavaType parameterJavaType = mapper.getTypeFactory().constructType(parameterType);
+			if(isEntityType(parameterJavaType.getRawClass())) {
+				objectMapperProvider.getReader(
+						parameterType, 
+						JacksonProviderUtils.getView(parameter.getAnnotations()), 
+						MediaType.APPLICATION_JSON_TYPE);
+				mapper.canDeserialize(parameterJavaType);
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	protected boolean isEntityType(Class<?> type) {
+		return type != null 
+				&& !type.isPrimitive() 
+				&& type != Object.class
+				&& !Response.class.isAssignableFrom(type)
+				&& !type.getName().startsWith("java.io.")
+				&& type != String.class;
+	}
+}
@@ -0,0 +1,157 @@
+package com.expanset.jersey.jackson;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.annotation.JsonView;
+
+/**
+ * Helpers for JSON message body readers and writers.
+ */
+public final class JacksonProviderUtils {
+	
+	/**
+	 * Types, which are processed by standard Jersey providers.
+	 */
+	private static final Set<Class<?>> UNTOUCHABLES = new HashSet<>(Arrays.asList(
+			InputStream.class, 
+			Reader.class, 
+			OutputStream.class, 
+			Writer.class, 
+			String.class, 
+			byte[].class, 
+			char[].class, 
+			StreamingOutput.class, 
+			Response.class));
+	
+	private static final String JSON_SUFFIX = "+json";
+	
+	private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+	
+	private static final MediaType SMILE_MEDIA_TYPE = MediaType.valueOf(JacksonFeature.APPLICATION_SMILE);
+
+	private static final MediaType CBOR_MEDIA_TYPE = MediaType.valueOf(JacksonFeature.APPLICATION_CBOR);
+
+	/**
+	 * @param annotations Annotations of resource method or parameter.
+	 * @return View from {@link com.fasterxml.jackson.annotation.JsonView} annotation or null.
+	 */
+	public static Class<?> getView(Annotation[] annotations) {
+		if(annotations != null) {
+			for(Annotation annotation : annotations) {
+				if(annotation.annotationType() == JsonView.class) {
+					final Class<?>[] views = ((JsonView)annotation).value();
+					return views.length > 0 ? views[0] : null;
+				}
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @param genericType Type like {@literal Stream<T>}.
+	 * @return Type of element or {@link Object}, if type of element is unknown.
+	 */
+	public static Type getElementType(Type genericType) {
+		if(genericType instanceof ParameterizedType) {
+			final Type[] arguments = ((ParameterizedType)genericType).getActualTypeArguments();
+			if(arguments.length > 0 && !(arguments[0] instanceof WildcardType)) {
+				return arguments[0];
+			}
+		}
+		return Object.class;
+	}
+	
+	/**
+	 * @param type Type of entity.
+	 * @return true - entity is processed by standard Jersey providers, not by Jackson.
+	 */
+	public static boolean isUntouchable(Class<?> type) {
+		for(Class<?> untouchable : UNTOUCHABLES) {
+			if(untouchable.isAssignableFrom(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @param mediaType Media type or null.
+	 * @return true - media type is JSON or binary JSON-compatible format.
+	 * <p>JSON media types are matched by rules of {@link com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider},
+	 * wildcard subtypes are not accepted.</p>
+	 */
+	public static boolean isSupported(MediaType mediaType) {
+		if(mediaType == null) {
+			return true;
+		}
+		final String subtype = mediaType.getSubtype();
+		return "json".equalsIgnoreCase(subtype) 
+				|| subtype.endsWith(JSON_SUFFIX) 
+				|| "javascript".equals(subtype)
+				|| "x-javascript".equals(subtype)
+				|| "x-json".equals(subtype)
+				|| isBinary(mediaType);
+	}
+	
+	/**
+	 * @param mediaType Media type or null.
+	 * @return true - media type is Smile or CBOR format.
+	 */
+	public static boolean isBinary(MediaType mediaType) {
+		return isSmile(mediaType) || isCbor(mediaType);
+	}
+	
+	/**
+	 * @param annotations Annotations of resource method or parameter.
+	 * @return true - Jackson annotations (except {@link com.fasterxml.jackson.annotation.JsonView}) are present,
+	 * they are processed by {@link com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider}.
+	 */
+	public static boolean hasEndpointAnnotations(Annotation[] annotations) {
+		if(annotations != null) {
+			for(Annotation annotation : annotations) {
+				final Class<? extends Annotation> annotationType = annotation.annotationType();
+				if(annotationType == JsonView.class) {
+					continue;
+				}
+				if(annotationType.getName().startsWith(JACKSON_PACKAGE)
+						|| annotationType.isAnnotationPresent(JacksonAnnotationsInside.class)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @param mediaType Media type or null.
+	 * @return true - media type is Smile format.
+	 */
+	public static boolean isSmile(MediaType mediaType) {
+		return mediaType != null && SMILE_MEDIA_TYPE.isCompatible(mediaType) && !mediaType.isWildcardSubtype();
+	}
+
+	/**
+	 * @param mediaType Media type or null.
+	 * @return true - media type is CBOR format.
+	 */
+	public static boolean isCbor(MediaType mediaType) {
+		return mediaType != null && CBOR_MEDIA_TYPE.isCompatible(mediaType) && !mediaType.isWildcardSubtype();
+	}
+	
+	private JacksonProviderUtils() {}
+}
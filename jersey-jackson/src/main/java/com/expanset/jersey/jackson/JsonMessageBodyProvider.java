@@ -0,0 +1,113 @@
+package com.expanset.jersey.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Providers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectReaderInjector;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterInjector;
+import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+
+/**
+ * Reads and writes JSON entities with readers and writers prepared by
+ * {@link com.expanset.jersey.jackson.ObjectMapperProvider}.
+ * <p>Media types and types of entities are accepted by rules of {@link JacksonJaxbJsonProvider}.
+ * {@link com.fasterxml.jackson.annotation.JsonView} of resource method is supported with prepared readers and
+ * writers, other Jackson annotations of resource method (like
+ * {@link com.fasterxml.jackson.jaxrs.json.annotation.JSONP}) are processed by {@link JacksonJaxbJsonProvider}.
+ * Binary formats Smile and CBOR are supported also.</p>
+ */
+public class JsonMessageBodyProvider extends JacksonJaxbJsonProvider {
+
+	@Inject
+	protected Providers providers;
+
+	protected ObjectMapperProvider objectMapperProvider;
+
+	@PostConstruct
+	public void initialize() {
+		objectMapperProvider = ObjectMapperProvider.resolve(providers);
+	}
+
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		if(JsonStream.class.isAssignableFrom(type)) {
+			return false;
+		}
+		if(JacksonProviderUtils.isBinary(mediaType)) {
+			return !JacksonProviderUtils.isUntouchable(type);
+		}
+		return super.isReadable(type, genericType, annotations, mediaType);
+	}
+
+	@Override
+	public Object readFrom(
+			Class<Object> type,
+			Type genericType,
+			Annotation[] annotations,
+			MediaType mediaType,
+			MultivaluedMap<String, String> httpHeaders,
+			InputStream entityStream)
+					throws IOException {
+		if(!JacksonProviderUtils.isBinary(mediaType)
+				&& (JacksonProviderUtils.hasEndpointAnnotations(annotations) || ObjectReaderInjector.get() != null)) {
+			return super.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
+		}
+
+		final ObjectReader reader = objectMapperProvider.getReader(
+				genericType != null ? genericType : type, JacksonProviderUtils.getView(annotations), mediaType);
+
+		final JsonParser parser = reader.getFactory().createParser(entityStream);
+		try {
+			// NOTE Empty body is read as null.
+			if(parser.nextToken() == null) {
+				return null;
+			}
+			return reader.readValue(parser);
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		if(JsonStreamMessageBodyWriter.isStream(type)) {
+			return false;
+		}
+		if(JacksonProviderUtils.isBinary(mediaType)) {
+			return !JacksonProviderUtils.isUntouchable(type);
+		}
+		return super.isWriteable(type, genericType, annotations, mediaType);
+	}
+
+	@Override
+	public void writeTo(
+			Object value,
+			Class<?> type,
+			Type genericType,
+			Annotation[] annotations,
+			MediaType mediaType,
+			MultivaluedMap<String, Object> httpHeaders,
+			OutputStream entityStream)
+					throws IOException {
+		if(!JacksonProviderUtils.isBinary(mediaType)
+				&& (JacksonProviderUtils.hasEndpointAnnotations(annotations) || ObjectWriterInjector.get() != null)) {
+			super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+			return;
+		}
+
+		objectMapperProvider
+			.getWriter(genericType != null ? genericType : type, JacksonProviderUtils.getView(annotations), mediaType)
+			.writeValue(entityStream, value);
+	}
+}
@@ -0,0 +1,113 @@
+package com.expanset.jersey.jackson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.lang3.Validate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Elements of JSON array in request, which are read one by one, so large requests are not collected in memory.
+ * <p>Stream should be read in resource method, request entity is closed with the stream.</p>
+ * <pre>Example:</pre>
+ * <pre>
+ * {@literal @}POST
+ * public void importItems(JsonStream&lt;Item&gt; items) {
+ *     while(items.hasNext()) {
+ *         save(items.next());
+ *     }
+ * }
+ * </pre>
+ * @param <T> Type of element.
+ */
+public class JsonStream<T> implements Iterator<T>, Closeable {
+
+	protected final JsonParser parser;
+	
+	protected final ObjectReader reader;
+	
+	/**
+	 * Token of next element or null.
+	 */
+	protected JsonToken token;
+	
+	protected boolean finished;
+	
+	/**
+	 * @param parser Parser, positioned at the start of array or at the end of input.
+	 * @param reader Reader of elements.
+	 */
+	public JsonStream(@Nonnull JsonParser parser, @Nonnull ObjectReader reader) {
+		Validate.notNull(parser, "parser");
+		Validate.notNull(reader, "reader");
+		
+		this.parser = parser;
+		this.reader = reader;
+		this.finished = parser.getCurrentToken() != JsonToken.START_ARRAY;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if(token == null && !finished) {
+			try {
+				token = parser.nextToken();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			if(token == null || token == JsonToken.END_ARRAY) {
+				token = null;
+				finished = true;
+			}
+		}
+		return token != null;
+	}
+
+	@Override
+	public T next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		token = null;
+		try {
+			return reader.readValue(parser);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * @return Sequential stream of elements.
+	 */
+	public Stream<T> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(() -> {
+					try {
+						close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+	}
+
+	@Override
+	public void close() 
+			throws IOException {
+		finished = true;
+		token = null;
+		parser.close();
+	}
+}
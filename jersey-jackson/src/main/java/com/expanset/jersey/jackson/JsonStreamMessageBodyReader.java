@@ -0,0 +1,83 @@
+package com.expanset.jersey.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Providers;
+
+import org.glassfish.jersey.server.CloseableService;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads JSON array in request as {@link com.expanset.jersey.jackson.JsonStream}.
+ * <p>Empty request is read as empty stream. Stream is closed when request is finished, 
+ * if it is not closed by resource method.</p>
+ */
+@Consumes({MediaType.APPLICATION_JSON, "text/json", "*/*+json", JacksonFeature.APPLICATION_SMILE, JacksonFeature.APPLICATION_CBOR})
+public class JsonStreamMessageBodyReader implements MessageBodyReader<JsonStream<?>> {
+
+	@Inject
+    protected Providers providers;
+	
+	@Inject
+	protected Provider<CloseableService> closeableServiceProvider;
+	
+	protected ObjectMapperProvider objectMapperProvider;
+	
+	@PostConstruct
+	public void initialize() {
+		objectMapperProvider = ObjectMapperProvider.resolve(providers);
+	}
+	
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return JsonStream.class.isAssignableFrom(type);
+	}
+
+	@Override
+	public JsonStream<?> readFrom(
+			Class<JsonStream<?>> type, 
+			Type genericType, 
+			Annotation[] annotations, 
+			MediaType mediaType,
+			MultivaluedMap<String, String> httpHeaders, 
+			InputStream entityStream) 
+					throws IOException, WebApplicationException {
+		// NOTE Reader configures parser on every element, prepared reader does not close the source.
+		final ObjectReader reader = objectMapperProvider.getReader(
+				JacksonProviderUtils.getElementType(genericType), JacksonProviderUtils.getView(annotations), mediaType)
+				.with(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+		
+		// NOTE Parser closes request entity, when stream is closed.
+		final JsonParser parser = reader.getFactory().createParser(entityStream);
+		final JsonToken token = parser.nextToken();
+		if(token != null && token != JsonToken.START_ARRAY) {
+			final JsonMappingException e = 
+					new JsonMappingException("JSON array is expected", parser.getCurrentLocation());
+			parser.close();
+			throw e;
+		}
+		
+		final JsonStream<?> stream = new JsonStream<>(parser, reader);
+		// NOTE Stream, which is not read completely by resource method, is closed when request is finished.
+		final CloseableService closeableService = closeableServiceProvider.get();
+		if(closeableService != null) {
+			closeableService.add(stream);
+		}
+		return stream;
+	}
+}
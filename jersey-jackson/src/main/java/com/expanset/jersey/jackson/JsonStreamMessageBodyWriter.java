@@ -0,0 +1,131 @@
+package com.expanset.jersey.jackson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes {@link java.util.stream.Stream} or {@link java.util.Iterator} as JSON array, element by element, 
+ * so large results are not collected in memory.
+ * <p>Output is flushed periodically, see {@link com.expanset.jersey.jackson.JacksonFeature#STREAM_FLUSH_INTERVAL}. 
+ * Stream (or iterator, which implements {@link java.lang.AutoCloseable}) is closed after writing.</p>
+ * <pre>Example:</pre>
+ * <pre>
+ * {@literal @}GET
+ * public Stream&lt;Item&gt; export() {
+ *     return items.stream();
+ * }
+ * </pre>
+ */
+@Produces({MediaType.APPLICATION_JSON, "text/json", "*/*+json", JacksonFeature.APPLICATION_SMILE, JacksonFeature.APPLICATION_CBOR})
+public class JsonStreamMessageBodyWriter implements MessageBodyWriter<Object> {
+
+	@Inject
+    protected Providers providers;
+	
+	@Inject
+	protected Configuration config;
+	
+	protected ObjectMapperProvider objectMapperProvider;
+	
+	protected int flushInterval;
+	
+	@PostConstruct
+	public void initialize() {
+		objectMapperProvider = ObjectMapperProvider.resolve(providers);
+		
+		final Integer flushInterval = (Integer)config.getProperty(JacksonFeature.STREAM_FLUSH_INTERVAL);
+		this.flushInterval = flushInterval != null && flushInterval > 0 ? 
+				flushInterval : JacksonFeature.STREAM_FLUSH_INTERVAL_DEFAULT;
+	}
+	
+	/**
+	 * @param type Type of entity.
+	 * @return true - entity is written by this writer.
+	 */
+	public static boolean isStream(Class<?> type) {
+		return BaseStream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type);
+	}
+	
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return isStream(type) && JacksonProviderUtils.isSupported(mediaType);
+	}
+
+	@Override
+	public long getSize(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return -1;
+	}
+
+	@Override
+	public void writeTo(
+			Object value, 
+			Class<?> type, 
+			Type genericType, 
+			Annotation[] annotations, 
+			MediaType mediaType,
+			MultivaluedMap<String, Object> httpHeaders, 
+			OutputStream entityStream) 
+					throws IOException, WebApplicationException {
+		try {
+			// NOTE Every element is flushed by default, flushing is controlled here.
+			final ObjectWriter writer = objectMapperProvider
+					.getWriter(
+							JacksonProviderUtils.getElementType(genericType), 
+							JacksonProviderUtils.getView(annotations), 
+							mediaType)
+					.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			final Iterator<?> iterator = value instanceof BaseStream ? 
+					((BaseStream<?, ?>)value).iterator() : (Iterator<?>)value;
+			
+			final JsonGenerator generator = writer.getFactory().createGenerator(entityStream, JsonEncoding.UTF8);
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			try {
+				generator.writeStartArray();
+				int count = 0;
+				while(iterator.hasNext()) {
+					writer.writeValue(generator, iterator.next());
+					if(++count % flushInterval == 0) {
+						generator.flush();
+					}
+				}
+				generator.writeEndArray();
+			} finally {
+				generator.close();
+			}
+		} finally {
+			close(value);
+		}
+	}
+	
+	protected void close(Object value) 
+			throws IOException {
+		if(value instanceof AutoCloseable) {
+			try {
+				((AutoCloseable)value).close();
+			} catch(IOException | RuntimeException e) {
+				throw e;
+			} catch(Exception e) {
+				throw new IOException(e);
+			}
+		}
+	}
+}
@@ -1,18 +1,44 @@
 package com.expanset.jersey.jackson;
 
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
 
+import org.apache.commons.lang3.Validate;
 import org.jvnet.hk2.annotations.Optional;
 import org.jvnet.hk2.annotations.Service;
 
 import com.expanset.jackson.JacksonUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
 /**
  * {@link com.fasterxml.jackson.databind.ObjectMapper} provider that supplies context information to resource
  * classes and other providers.
+ * <p>Mapper is created once, before provider is used. Also provider keeps prepared 
+ * {@link com.fasterxml.jackson.databind.ObjectReader} and {@link com.fasterxml.jackson.databind.ObjectWriter}
+ * for every type, view and media type. Binary formats Smile and CBOR are supported.</p>
+ * <p>If application registers own {@link ContextResolver} of mapper, mapper is resolved for every type of entity, 
+ * like in Jackson JAX-RS provider, and prepared readers and writers are kept for every resolved mapper, 
+ * see {@link #resolve(Providers)}.</p>
  */
 @Service
 @Provider
@@ -24,13 +50,314 @@ public class ObjectMapperProvider implements ContextResolver<ObjectMapper> {
     @Inject
     @Optional
     protected ObjectMapper objectMapper;
+    
+    @Inject
+    @Optional
+    protected Configuration config;
+    
+    protected volatile ObjectMapper configuredObjectMapper;
+    
+    /**
+     * Resolver of mapper, registered by application, or null.
+     */
+    protected final ContextResolver<ObjectMapper> contextResolver;
+    
+    protected final ConcurrentHashMap<Key, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    protected final ConcurrentHashMap<Key, ObjectWriter> writers = new ConcurrentHashMap<>();
+    
+    /**
+     * Mappers of binary formats by mapper and media type.
+     */
+    protected final ConcurrentHashMap<ObjectMapper, ConcurrentHashMap<String, ObjectMapper>> formatMappers = 
+    		new ConcurrentHashMap<>();
+    
+    private static final int CACHE_SIZE = 1000;
+    
+    public ObjectMapperProvider() {
+    	this.contextResolver = null;
+    }
+
+    /**
+     * @param objectMapper Configured mapper.
+     */
+    public ObjectMapperProvider(@Nonnull ObjectMapper objectMapper) {
+    	Validate.notNull(objectMapper, "objectMapper");
+    	
+    	this.objectMapper = objectMapper;
+    	this.contextResolver = null;
+    	initialize();
+    }
+
+    /**
+     * @param contextResolver Resolver of mapper, registered by application. Mapper is resolved for every
+     * type of entity, default mapper is used if resolver returns null.
+     */
+    public ObjectMapperProvider(@Nonnull ContextResolver<ObjectMapper> contextResolver) {
+    	Validate.notNull(contextResolver, "contextResolver");
+    	
+    	this.contextResolver = contextResolver;
+    	initialize();
+    }
 	
-	@Override
-	public synchronized ObjectMapper getContext(Class<?> type) {
-		if(objectMapper == null) {
+	/**
+	 * Mapper is created once, before provider is used.
+	 */
+	@PostConstruct
+	public void initialize() {
+		final boolean created = objectMapper == null;
+		if(created) {
 			objectMapper = JacksonUtils.createObjectMapper();
 		}
+		if(config != null) {
+			final Boolean highPerformance = (Boolean)config.getProperty(JacksonFeature.HIGH_PERFORMANCE);
+			if(highPerformance != null && highPerformance.booleanValue()) {
+				// NOTE Registered mapper may be used by the application, so it is copied and left unchanged.
+				if(!created) {
+					objectMapper = objectMapper.copy();
+				}
+				AfterburnerSupport.register(objectMapper);
+			}
+		}
 		
-        return objectMapper;
+		this.configuredObjectMapper = objectMapper;
+	}
+	
+	@Override
+	public ObjectMapper getContext(Class<?> type) {
+		if(contextResolver != null) {
+			final ObjectMapper mapper = contextResolver.getContext(type);
+			if(mapper != null) {
+				return mapper;
+			}
+		}
+        return configuredObjectMapper;
+	}
+	
+	/**
+	 * Returns registered provider or creates provider for the resolver of mapper, registered by application.
+	 * @param providers Registered providers.
+	 * @return Provider of JSON mapper.
+	 */
+	public static ObjectMapperProvider resolve(@Nonnull Providers providers) {
+		Validate.notNull(providers, "providers");
+		
+        final ContextResolver<ObjectMapper> contextResolver =
+                providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+        if(contextResolver instanceof ObjectMapperProvider) {
+        	return (ObjectMapperProvider)contextResolver;
+        }
+        
+        if(contextResolver != null) {
+        	return new ObjectMapperProvider(contextResolver);
+        }
+    	
+		final ObjectMapperProvider objectMapperProvider = new ObjectMapperProvider();
+		objectMapperProvider.initialize();
+		return objectMapperProvider;
+	}
+	
+	/**
+	 * Returns prepared reader.
+	 * @param type Type of value.
+	 * @param view JSON view or null.
+	 * @param mediaType Media type of request.
+	 * @return Prepared reader.
+	 */
+	public ObjectReader getReader(@Nonnull Type type, @Nullable Class<?> view, @Nullable MediaType mediaType) {
+		Validate.notNull(type, "type");
+		
+		final ObjectMapper mapper = getMapper(type);
+		final Key key = new Key(mapper, type, view, mediaType);
+		ObjectReader reader = readers.get(key);
+		if(reader == null) {
+			reader = mapper.reader(mapper.getTypeFactory().constructType(type))
+					.with(getFactory(mapper, mediaType))
+					.without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+			if(view != null) {
+				reader = reader.withView(view);
+			}
+			if(readers.size() >= CACHE_SIZE) {
+				readers.clear();
+			}
+			readers.put(key, reader);
+		}
+		return reader;
+	}
+	
+	/**
+	 * Returns prepared writer.
+	 * @param type Type of value. Root type is used only for containers, other values are written by runtime type.
+	 * @param view JSON view or null.
+	 * @param mediaType Media type of response.
+	 * @return Prepared writer.
+	 */
+	public ObjectWriter getWriter(@Nonnull Type type, @Nullable Class<?> view, @Nullable MediaType mediaType) {
+		Validate.notNull(type, "type");
+		
+		final ObjectMapper mapper = getMapper(type);
+		final Key key = new Key(mapper, type, view, mediaType);
+		ObjectWriter writer = writers.get(key);
+		if(writer == null) {
+			// NOTE ObjectWriter.with(JsonFactory) keeps the factory of base writer in Jackson 2.5, 
+			// so writer is created by the mapper of the format.
+			writer = getFormatMapper(mapper, mediaType).writer()
+					.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			if(view != null) {
+				writer = writer.withView(view);
+			}
+			// NOTE Like in Jackson JAX-RS provider, root type is used for containers only, 
+			// so values of subclasses are written completely.
+			final JavaType rootType = mapper.getTypeFactory().constructType(type);
+			if(rootType.isContainerType()) {
+				writer = writer.forType(rootType);
+			}
+			if(writers.size() >= CACHE_SIZE) {
+				writers.clear();
+			}
+			writers.put(key, writer);
+		}
+		return writer;
+	}
+	
+	/**
+	 * Returns factory of parsers and generators for the media type. 
+	 * Binary formats use the same mapper configuration as JSON.
+	 * @param mediaType Media type or null.
+	 * @return Factory of parsers and generators.
+	 */
+	public JsonFactory getFactory(@Nullable MediaType mediaType) {
+		return getFactory(getContext(null), mediaType);
+	}
+	
+	/**
+	 * Returns factory of parsers and generators for the mapper and media type. 
+	 * Binary formats use the same mapper configuration as JSON.
+	 * @param mapper Mapper.
+	 * @param mediaType Media type or null.
+	 * @return Factory of parsers and generators.
+	 */
+	public JsonFactory getFactory(@Nonnull ObjectMapper mapper, @Nullable MediaType mediaType) {
+		Validate.notNull(mapper, "mapper");
+		
+		return getFormatMapper(mapper, mediaType).getFactory();
+	}
+	
+	/**
+	 * Returns mapper for the media type. Mapper of binary format shares configuration and serializers 
+	 * with the mapper, only factory of parsers and generators is different.
+	 * @param mapper Mapper.
+	 * @param mediaType Media type or null.
+	 * @return Mapper for the media type.
+	 */
+	protected ObjectMapper getFormatMapper(@Nonnull ObjectMapper mapper, @Nullable MediaType mediaType) {
+		if(!JacksonProviderUtils.isBinary(mediaType)) {
+			return mapper;
+		}
+		
+		ConcurrentHashMap<String, ObjectMapper> mappers = formatMappers.get(mapper);
+		if(mappers == null) {
+			if(formatMappers.size() >= CACHE_SIZE) {
+				formatMappers.clear();
+			}
+			mappers = formatMappers.computeIfAbsent(mapper, key -> new ConcurrentHashMap<>());
+		}
+		if(JacksonProviderUtils.isSmile(mediaType)) {
+			return mappers.computeIfAbsent(
+					JacksonFeature.APPLICATION_SMILE, key -> createFormatMapper(mapper, new SmileFactory()));
+		}
+		return mappers.computeIfAbsent(
+				JacksonFeature.APPLICATION_CBOR, key -> createFormatMapper(mapper, new CBORFactory()));
+	}
+	
+	/**
+	 * @param type Type of value.
+	 * @return Mapper for the type.
+	 */
+	protected ObjectMapper getMapper(Type type) {
+		if(contextResolver == null) {
+			return configuredObjectMapper;
+		}
+		// NOTE Like Jackson JAX-RS provider, resolver is asked with raw type of entity.
+		return getContext(configuredObjectMapper.getTypeFactory().constructType(type).getRawClass());
+	}
+	
+	/**
+	 * Creates mapper of binary format, which shares configuration and serializers with the mapper.
+	 * @param mapper Mapper.
+	 * @param factory Factory of binary format.
+	 * @return Mapper of binary format.
+	 */
+	protected ObjectMapper createFormatMapper(@Nonnull ObjectMapper mapper, @Nonnull JsonFactory factory) {
+		final ObjectMapper formatMapper = new ObjectMapper(configureFactory(mapper, factory));
+		formatMapper.setConfig(mapper.getSerializationConfig());
+		formatMapper.setConfig(mapper.getDeserializationConfig());
+		formatMapper.setSerializerFactory(mapper.getSerializerFactory());
+		formatMapper.setSerializerProvider((DefaultSerializerProvider)mapper.getSerializerProvider());
+		return formatMapper;
+	}
+	
+	/**
+	 * Copies features of JSON factory of the mapper into factory of binary format.
+	 * @param mapper Mapper.
+	 * @param factory Factory of binary format.
+	 * @return Configured factory.
+	 */
+	protected JsonFactory configureFactory(@Nonnull ObjectMapper mapper, @Nonnull JsonFactory factory) {
+		final JsonFactory jsonFactory = mapper.getFactory();
+		for(JsonFactory.Feature feature : JsonFactory.Feature.values()) {
+			factory.configure(feature, jsonFactory.isEnabled(feature));
+		}
+		for(JsonParser.Feature feature : JsonParser.Feature.values()) {
+			factory.configure(feature, jsonFactory.isEnabled(feature));
+		}
+		for(JsonGenerator.Feature feature : JsonGenerator.Feature.values()) {
+			factory.configure(feature, jsonFactory.isEnabled(feature));
+		}
+		factory.setCodec(mapper);
+		return factory;
+	}
+	
+	protected static class Key {
+		
+		protected final ObjectMapper mapper;
+		
+		protected final Type type;
+		
+		protected final Class<?> view;
+		
+		protected final String mediaType;
+		
+		protected final int hashCode;
+		
+		public Key(ObjectMapper mapper, Type type, Class<?> view, MediaType mediaType) {
+			this.mapper = mapper;
+			this.type = type;
+			this.view = view;
+			// NOTE Parameters like charset do not change the reader or writer.
+			this.mediaType = mediaType != null ? mediaType.getType() + '/' + mediaType.getSubtype() : null;
+			this.hashCode = Objects.hash(System.identityHashCode(mapper), type, view, this.mediaType);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key)obj;
+			return hashCode == other.hashCode
+					&& mapper == other.mapper
+					&& type.equals(other.type)
+					&& view == other.view
+					&& Objects.equals(mediaType, other.mediaType);
+		}
 	}
 }
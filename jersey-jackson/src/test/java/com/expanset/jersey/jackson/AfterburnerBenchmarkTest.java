@@ -0,0 +1,282 @@
+package com.expanset.jersey.jackson;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Compares prepared readers and writers of plain mapper and mapper with Afterburner module.
+ * <p>Numbers are printed only, they depend on machine and JIT, so test checks that both mappers produce
+ * the same result.</p>
+ */
+public class AfterburnerBenchmarkTest {
+
+	private static final int ROUND_MILLIS = 200;
+
+	private static final int WARMUP_ROUNDS = 3;
+
+	private static final int ROUNDS = 5;
+
+	@Test
+	public void compareMappers() throws Exception {
+		final ObjectMapper afterburnerMapper = new ObjectMapper();
+		AfterburnerSupport.register(afterburnerMapper);
+		final ObjectMapperProvider plain = new ObjectMapperProvider(new ObjectMapper());
+		final ObjectMapperProvider afterburner = new ObjectMapperProvider(afterburnerMapper);
+
+		final Order order = Order.create();
+		final ObjectWriter plainWriter = plain.getWriter(Order.class, null, MediaType.APPLICATION_JSON_TYPE);
+		final ObjectWriter afterburnerWriter =
+				afterburner.getWriter(Order.class, null, MediaType.APPLICATION_JSON_TYPE);
+		final byte[] json = plainWriter.writeValueAsBytes(order);
+		assertArrayEquals(json, afterburnerWriter.writeValueAsBytes(order));
+
+		final ObjectReader plainReader = plain.getReader(Order.class, null, MediaType.APPLICATION_JSON_TYPE);
+		final ObjectReader afterburnerReader =
+				afterburner.getReader(Order.class, null, MediaType.APPLICATION_JSON_TYPE);
+		assertEquals(order, plainReader.readValue(json));
+		assertEquals(order, afterburnerReader.readValue(json));
+
+		// NOTE Mappers are measured in turns and the best round is taken, so noise of shared machine is reduced.
+		final double[] best = new double[4];
+		for(int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+			final double[] result = new double[] {
+					measure(() -> plainWriter.writeValueAsBytes(order)),
+					measure(() -> afterburnerWriter.writeValueAsBytes(order)),
+					measure(() -> plainReader.readValue(json)),
+					measure(() -> afterburnerReader.readValue(json)) };
+			if(round >= WARMUP_ROUNDS) {
+				for(int i = 0; i < best.length; i++) {
+					best[i] = Math.max(best[i], result[i]);
+				}
+			}
+		}
+		System.out.println(String.format(
+				"Order (%d bytes of JSON), operations per ms:%n"
+				+ "  write: plain %.1f, afterburner %.1f (%+.0f%%)%n"
+				+ "  read:  plain %.1f, afterburner %.1f (%+.0f%%)",
+				json.length,
+				best[0], best[1], (best[1] / best[0] - 1) * 100,
+				best[2], best[3], (best[3] / best[2] - 1) * 100));
+	}
+
+	private static double measure(Operation operation)
+			throws Exception {
+		final long duration = ROUND_MILLIS * 1000000L;
+		final long start = System.nanoTime();
+		long count = 0;
+		long elapsed;
+		do {
+			for(int i = 0; i < 100; i++) {
+				operation.run();
+			}
+			count += 100;
+			elapsed = System.nanoTime() - start;
+		} while(elapsed < duration);
+		return count * 1000000.0 / elapsed;
+	}
+
+	@FunctionalInterface
+	private interface Operation {
+
+		void run() throws Exception;
+	}
+
+	public static class Order {
+
+		private long id;
+
+		private String number;
+
+		private String customer;
+
+		private Date created;
+
+		private boolean paid;
+
+		private double total;
+
+		private List<Line> lines;
+
+		public static Order create() {
+			final Order order = new Order();
+			order.id = 1234567;
+			order.number = "SO-2015-00042";
+			order.customer = "ACME Corporation";
+			order.created = new Date(1435708800000L);
+			order.paid = true;
+			order.lines = new ArrayList<>();
+			for(int i = 0; i < 10; i++) {
+				final Line line = new Line();
+				line.product = "Product " + i;
+				line.sku = "SKU-" + (1000 + i);
+				line.quantity = i + 1;
+				line.price = 9.99 + i;
+				line.tags = Arrays.asList("tag" + i, "common");
+				order.lines.add(line);
+				order.total += line.quantity * line.price;
+			}
+			return order;
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getNumber() {
+			return number;
+		}
+
+		public void setNumber(String number) {
+			this.number = number;
+		}
+
+		public String getCustomer() {
+			return customer;
+		}
+
+		public void setCustomer(String customer) {
+			this.customer = customer;
+		}
+
+		public Date getCreated() {
+			return created;
+		}
+
+		public void setCreated(Date created) {
+			this.created = created;
+		}
+
+		public boolean isPaid() {
+			return paid;
+		}
+
+		public void setPaid(boolean paid) {
+			this.paid = paid;
+		}
+
+		public double getTotal() {
+			return total;
+		}
+
+		public void setTotal(double total) {
+			this.total = total;
+		}
+
+		public List<Line> getLines() {
+			return lines;
+		}
+
+		public void setLines(List<Line> lines) {
+			this.lines = lines;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Order)) {
+				return false;
+			}
+			final Order other = (Order)obj;
+			return id == other.id
+					&& Objects.equals(number, other.number)
+					&& Objects.equals(customer, other.customer)
+					&& Objects.equals(created, other.created)
+					&& paid == other.paid
+					&& total == other.total
+					&& Objects.equals(lines, other.lines);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(id, number);
+		}
+	}
+
+	public static class Line {
+
+		private String product;
+
+		private String sku;
+
+		private int quantity;
+
+		private double price;
+
+		private List<String> tags;
+
+		public String getProduct() {
+			return product;
+		}
+
+		public void setProduct(String product) {
+			this.product = product;
+		}
+
+		public String getSku() {
+			return sku;
+		}
+
+		public void setSku(String sku) {
+			this.sku = sku;
+		}
+
+		public int getQuantity() {
+			return quantity;
+		}
+
+		public void setQuantity(int quantity) {
+			this.quantity = quantity;
+		}
+
+		public double getPrice() {
+			return price;
+		}
+
+		public void setPrice(double price) {
+			this.price = price;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Line)) {
+				return false;
+			}
+			final Line other = (Line)obj;
+			return Objects.equals(product, other.product)
+					&& Objects.equals(sku, other.sku)
+					&& quantity == other.quantity
+					&& price == other.price
+					&& Objects.equals(tags, other.tags);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(product, sku);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.expanset.jersey.jackson;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.junit.Test;
+
+public class BinaryFormatModelProcessorTest {
+
+	private static final MediaType SMILE = MediaType.valueOf(JacksonFeature.APPLICATION_SMILE);
+
+	private static final MediaType CBOR = MediaType.valueOf(JacksonFeature.APPLICATION_CBOR);
+
+	@Test
+	public void binaryTypesAreAddedToJsonMethods() {
+		final Resource resource = process(ItemsResource.class);
+
+		final ResourceMethod get = method(resource, "GET");
+		assertEquals(Arrays.asList(MediaType.APPLICATION_JSON_TYPE, SMILE, CBOR), get.getProducedTypes());
+
+		final ResourceMethod post = method(resource, "POST");
+		assertEquals(Arrays.asList(MediaType.APPLICATION_JSON_TYPE, SMILE, CBOR), post.getConsumedTypes());
+		assertEquals(Collections.singletonList(MediaType.TEXT_PLAIN_TYPE), post.getProducedTypes());
+	}
+
+	@Test
+	public void childResourcesAreProcessed() {
+		final Resource child = process(ItemsResource.class).getChildResources().get(0);
+
+		assertEquals(
+				Arrays.asList(MediaType.valueOf("application/hal+json"), SMILE, CBOR),
+				method(child, "GET").getProducedTypes());
+	}
+
+	@Test
+	public void otherMethodsAreNotChanged() {
+		final Resource resource = process(TextResource.class);
+
+		assertEquals(
+				Collections.singletonList(MediaType.TEXT_PLAIN_TYPE),
+				method(resource, "GET").getProducedTypes());
+		assertEquals(Collections.emptyList(), method(resource, "POST").getConsumedTypes());
+	}
+
+	@Test
+	public void declaredBinaryTypesAreNotDuplicated() {
+		final BinaryFormatModelProcessor processor = new BinaryFormatModelProcessor();
+
+		assertEquals(
+				Collections.singletonList(CBOR),
+				processor.getBinaryTypes(Arrays.asList(MediaType.APPLICATION_JSON_TYPE, SMILE)));
+		assertEquals(
+				Collections.emptyList(),
+				processor.getBinaryTypes(Arrays.asList(MediaType.WILDCARD_TYPE, MediaType.valueOf("application/*"))));
+	}
+
+	private static Resource process(Class<?> resourceClass) {
+		final ResourceModel resourceModel = new ResourceModel.Builder(false)
+				.addResource(Resource.from(resourceClass))
+				.build();
+		final List<Resource> resources =
+				new BinaryFormatModelProcessor().processResourceModel(resourceModel, null).getResources();
+		assertEquals(1, resources.size());
+		return resources.get(0);
+	}
+
+	private static ResourceMethod method(Resource resource, String httpMethod) {
+		for(ResourceMethod resourceMethod : resource.getResourceMethods()) {
+			if(httpMethod.equals(resourceMethod.getHttpMethod())) {
+				return resourceMethod;
+			}
+		}
+		throw new AssertionError(httpMethod);
+	}
+
+	@Path("items")
+	public static class ItemsResource {
+
+		@GET
+		@Produces(MediaType.APPLICATION_JSON)
+		public String list() {
+			return null;
+		}
+
+		@POST
+		@Consumes(MediaType.APPLICATION_JSON)
+		@Produces(MediaType.TEXT_PLAIN)
+		public String create(String item) {
+			return null;
+		}
+
+		@GET
+		@Path("{id}")
+		@Produces("application/hal+json")
+		public String get() {
+			return null;
+		}
+	}
+
+	@Path("text")
+	public static class TextResource {
+
+		@GET
+		@Produces(MediaType.TEXT_PLAIN)
+		public String get() {
+			return null;
+		}
+
+		@POST
+		public void post(String value) {
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.expanset.jersey.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jaxrs.annotation.JacksonFeatures;
+
+public class JsonMessageBodyProviderTest {
+
+	private static final MediaType SMILE = MediaType.valueOf(JacksonFeature.APPLICATION_SMILE);
+
+	private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+	private JsonMessageBodyProvider provider;
+
+	@Before
+	public void setUp() {
+		provider = new JsonMessageBodyProvider();
+		provider.objectMapperProvider = new ObjectMapperProvider(new ObjectMapper());
+	}
+
+	@Test
+	public void entityIsWrittenWithPreparedWriter() throws Exception {
+		assertEquals("{\"value\":1}", write(Collections.singletonMap("value", 1), NO_ANNOTATIONS));
+	}
+
+	@Test
+	public void viewIsApplied() throws Exception {
+		assertEquals("{\"name\":\"a\"}", write(new ObjectMapperProviderTest.Item("a", "b"), annotations("view")));
+	}
+
+	@Test
+	public void endpointAnnotationsAreProcessedByJacksonProvider() throws Exception {
+		// NOTE Prepared writer does not support endpoint annotations, so output is indented by base provider.
+		assertEquals(
+				"{" + System.lineSeparator() + "  \"value\" : 1" + System.lineSeparator() + "}",
+				write(Collections.singletonMap("value", 1), annotations("indented")));
+	}
+
+	@Test
+	public void emptyRequestIsReadAsNull() throws Exception {
+		assertNull(provider.readFrom(
+				Object.class, Map.class, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+				new MultivaluedHashMap<>(), new ByteArrayInputStream(new byte[0])));
+	}
+
+	@Test
+	public void binaryEntityIsRoundTripped() throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		provider.writeTo(
+				Collections.singletonMap("value", 1), Map.class, Map.class, NO_ANNOTATIONS, SMILE,
+				new MultivaluedHashMap<>(), output);
+
+		assertEquals(
+				Collections.singletonMap("value", 1),
+				provider.readFrom(
+						Object.class, Map.class, NO_ANNOTATIONS, SMILE,
+						new MultivaluedHashMap<>(), new ByteArrayInputStream(output.toByteArray())));
+	}
+
+	@Test
+	public void typesAreAccepted() {
+		assertTrue(provider.isWriteable(Map.class, Map.class, NO_ANNOTATIONS, SMILE));
+		assertFalse(provider.isWriteable(String.class, String.class, NO_ANNOTATIONS, SMILE));
+		assertFalse(provider.isWriteable(
+				Stream.class, Stream.class, NO_ANNOTATIONS,
+				MediaType.APPLICATION_JSON_TYPE));
+		assertFalse(provider.isReadable(JsonStream.class, JsonStream.class, NO_ANNOTATIONS, SMILE));
+	}
+
+	private String write(Object value, Annotation[] annotations)
+			throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		provider.writeTo(
+				value, value.getClass(), value.getClass(), annotations, MediaType.APPLICATION_JSON_TYPE,
+				new MultivaluedHashMap<>(), output);
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static Annotation[] annotations(String methodName)
+			throws NoSuchMethodException {
+		return JsonMessageBodyProviderTest.class.getDeclaredMethod(methodName).getAnnotations();
+	}
+
+	@JsonView(ObjectMapperProviderTest.Views.Public.class)
+	@SuppressWarnings("unused")
+	private static void view() {
+	}
+
+	@JacksonFeatures(serializationEnable = SerializationFeature.INDENT_OUTPUT)
+	@SuppressWarnings("unused")
+	private static void indented() {
+	}
+}
@@ -0,0 +1,115 @@
+package com.expanset.jersey.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonStreamMessageBodyWriterTest {
+
+	private JsonStreamMessageBodyWriter writer;
+
+	private FlushTrackingOutputStream output;
+
+	@Before
+	public void setUp() {
+		writer = new JsonStreamMessageBodyWriter();
+		writer.objectMapperProvider = new ObjectMapperProvider(new ObjectMapper());
+		writer.flushInterval = 2;
+		output = new FlushTrackingOutputStream();
+	}
+
+	@Test
+	public void streamIsWrittenAsArray() throws Exception {
+		final AtomicBoolean closed = new AtomicBoolean();
+
+		writer.writeTo(
+				Stream.of(1, 2, 3).onClose(() -> closed.set(true)),
+				Stream.class, type("stream"), null, MediaType.APPLICATION_JSON_TYPE, null, output);
+
+		assertEquals("[1,2,3]", output.toString());
+		assertTrue(closed.get());
+		assertFalse(output.closed);
+	}
+
+	@Test
+	public void iteratorIsWrittenAsArray() throws Exception {
+		writer.writeTo(
+				Arrays.asList("a", "b").iterator(),
+				Iterator.class, type("iterator"), null, MediaType.APPLICATION_JSON_TYPE, null, output);
+
+		assertEquals("[\"a\",\"b\"]", output.toString());
+	}
+
+	@Test
+	public void outputIsFlushedByInterval() throws Exception {
+		writer.writeTo(
+				Stream.of(1, 2, 3, 4, 5),
+				Stream.class, type("stream"), null, MediaType.APPLICATION_JSON_TYPE, null, output);
+
+		// NOTE Output is flushed after every second element and once after the end of array.
+		assertEquals(Arrays.asList("[1,2", "[1,2,3,4", "[1,2,3,4,5]"), output.flushed);
+	}
+
+	@Test
+	public void mediaTypesAreAccepted() throws Exception {
+		assertTrue(writer.isWriteable(Stream.class, type("stream"), null, MediaType.APPLICATION_JSON_TYPE));
+		assertTrue(writer.isWriteable(
+				Iterator.class, type("iterator"), null, MediaType.valueOf(JacksonFeature.APPLICATION_CBOR)));
+		assertFalse(writer.isWriteable(Stream.class, type("stream"), null, MediaType.TEXT_PLAIN_TYPE));
+		assertFalse(writer.isWriteable(List.class, List.class, null, MediaType.APPLICATION_JSON_TYPE));
+	}
+
+	private static Type type(String methodName)
+			throws NoSuchMethodException {
+		return JsonStreamMessageBodyWriterTest.class.getDeclaredMethod(methodName).getGenericReturnType();
+	}
+
+	@SuppressWarnings("unused")
+	private static Stream<Integer> stream() {
+		return null;
+	}
+
+	@SuppressWarnings("unused")
+	private static Iterator<String> iterator() {
+		return null;
+	}
+
+	private static class FlushTrackingOutputStream extends ByteArrayOutputStream {
+
+		private final List<String> flushed = new ArrayList<>();
+
+		private boolean closed;
+
+		@Override
+		public void flush() {
+			flushed.add(toString());
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+
+		@Override
+		public String toString() {
+			return new String(toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+}
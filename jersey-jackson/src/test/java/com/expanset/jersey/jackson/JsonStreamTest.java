@@ -0,0 +1,134 @@
+package com.expanset.jersey.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonStreamTest {
+
+	private JsonStreamMessageBodyReader reader;
+
+	@Before
+	public void setUp() {
+		reader = new JsonStreamMessageBodyReader();
+		reader.objectMapperProvider = new ObjectMapperProvider(new ObjectMapper());
+		reader.closeableServiceProvider = () -> null;
+	}
+
+	@Test
+	public void elementsAreRead() throws Exception {
+		final JsonStream<?> stream = read("[1, 2, 3]", MediaType.APPLICATION_JSON_TYPE);
+
+		assertTrue(stream.hasNext());
+		assertTrue(stream.hasNext());
+		assertEquals(1, stream.next());
+		assertEquals(2, stream.next());
+		assertEquals(3, stream.next());
+		assertFalse(stream.hasNext());
+		try {
+			stream.next();
+			fail();
+		} catch(NoSuchElementException e) {
+		}
+	}
+
+	@Test
+	public void emptyRequestIsEmptyStream() throws Exception {
+		assertFalse(read("", MediaType.APPLICATION_JSON_TYPE).hasNext());
+		assertFalse(read("[]", MediaType.APPLICATION_JSON_TYPE).hasNext());
+	}
+
+	@Test
+	public void nonArrayRequestIsRejected() throws Exception {
+		final TrackingInputStream input = new TrackingInputStream("{\"value\":1}");
+		try {
+			reader.readFrom(null, streamType(), null, MediaType.APPLICATION_JSON_TYPE, null, input);
+			fail();
+		} catch(JsonMappingException e) {
+		}
+		assertTrue(input.closed);
+	}
+
+	@Test
+	public void nullElementsAreStreamed() throws Exception {
+		final List<?> values = read("[1, null, 3]", MediaType.APPLICATION_JSON_TYPE)
+				.stream()
+				.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList(1, null, 3), values);
+	}
+
+	@Test
+	public void requestIsClosedWithStream() throws Exception {
+		final TrackingInputStream input = new TrackingInputStream("[1, 2]");
+		final JsonStream<?> stream =
+				reader.readFrom(null, streamType(), null, MediaType.APPLICATION_JSON_TYPE, null, input);
+
+		assertEquals(1, stream.next());
+		stream.stream().close();
+
+		assertTrue(input.closed);
+		assertFalse(stream.hasNext());
+	}
+
+	@Test
+	public void binaryRequestIsRead() throws Exception {
+		final MediaType smile = MediaType.valueOf(JacksonFeature.APPLICATION_SMILE);
+		final byte[] data = reader.objectMapperProvider
+				.getWriter(List.class, null, smile)
+				.writeValueAsBytes(Arrays.asList(1, 2));
+
+		final JsonStream<?> stream =
+				reader.readFrom(null, streamType(), null, smile, null, new ByteArrayInputStream(data));
+
+		assertEquals(Arrays.asList(1, 2), stream.stream().collect(Collectors.toList()));
+	}
+
+	private JsonStream<?> read(String json, MediaType mediaType)
+			throws Exception {
+		return reader.readFrom(null, streamType(), null, mediaType, null, new TrackingInputStream(json));
+	}
+
+	private static Type streamType()
+			throws NoSuchMethodException {
+		return JsonStreamTest.class.getDeclaredMethod("resource", JsonStream.class).getGenericParameterTypes()[0];
+	}
+
+	@SuppressWarnings("unused")
+	private static void resource(JsonStream<Integer> values) {
+	}
+
+	private static class TrackingInputStream extends ByteArrayInputStream {
+
+		private boolean closed;
+
+		public TrackingInputStream(String json) {
+			super(json.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void close()
+				throws IOException {
+			closed = true;
+			super.close();
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.expanset.jersey.jackson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+
+public class ObjectMapperProviderTest {
+
+	private static final MediaType SMILE = MediaType.valueOf(JacksonFeature.APPLICATION_SMILE);
+
+	private static final MediaType CBOR = MediaType.valueOf(JacksonFeature.APPLICATION_CBOR);
+
+	private ObjectMapperProvider provider;
+
+	@Before
+	public void setUp() {
+		provider = new ObjectMapperProvider(new ObjectMapper());
+	}
+
+	@Test
+	public void keyIgnoresParametersOfMediaType() {
+		final ObjectMapper mapper = new ObjectMapper();
+		final ObjectMapperProvider.Key key =
+				new ObjectMapperProvider.Key(mapper, Item.class, null, MediaType.APPLICATION_JSON_TYPE);
+
+		assertEquals(key, new ObjectMapperProvider.Key(
+				mapper, Item.class, null, MediaType.valueOf("application/json; charset=UTF-8")));
+		assertEquals(key.hashCode(), new ObjectMapperProvider.Key(
+				mapper, Item.class, null, MediaType.valueOf("application/json; charset=UTF-8")).hashCode());
+		assertNotEquals(key, new ObjectMapperProvider.Key(
+				new ObjectMapper(), Item.class, null, MediaType.APPLICATION_JSON_TYPE));
+		assertNotEquals(key, new ObjectMapperProvider.Key(
+				mapper, Object.class, null, MediaType.APPLICATION_JSON_TYPE));
+		assertNotEquals(key, new ObjectMapperProvider.Key(
+				mapper, Item.class, Views.Public.class, MediaType.APPLICATION_JSON_TYPE));
+		assertNotEquals(key, new ObjectMapperProvider.Key(mapper, Item.class, null, SMILE));
+		assertNotEquals(key, new ObjectMapperProvider.Key(mapper, Item.class, null, null));
+	}
+
+	@Test
+	public void readersAndWritersAreCached() {
+		assertSame(
+				provider.getReader(Item.class, null, MediaType.APPLICATION_JSON_TYPE),
+				provider.getReader(Item.class, null, MediaType.valueOf("application/json; charset=UTF-8")));
+		assertSame(
+				provider.getWriter(Item.class, null, MediaType.APPLICATION_JSON_TYPE),
+				provider.getWriter(Item.class, null, MediaType.valueOf("application/json; charset=UTF-8")));
+		assertNotSame(
+				provider.getWriter(Item.class, null, MediaType.APPLICATION_JSON_TYPE),
+				provider.getWriter(Item.class, Views.Public.class, MediaType.APPLICATION_JSON_TYPE));
+		assertSame(provider.getFactory(SMILE), provider.getFactory(SMILE));
+		assertNotSame(provider.getFactory(SMILE), provider.getFactory(CBOR));
+	}
+
+	@Test
+	public void viewIsApplied() throws Exception {
+		final Item item = new Item("name", "secret");
+
+		assertEquals(
+				"{\"name\":\"name\"}",
+				provider.getWriter(Item.class, Views.Public.class, null).writeValueAsString(item));
+		assertEquals(
+				"{\"name\":\"name\",\"secret\":\"secret\"}",
+				provider.getWriter(Item.class, null, null).writeValueAsString(item));
+
+		final Item read = provider.getReader(Item.class, Views.Public.class, null)
+				.readValue("{\"name\":\"name\",\"secret\":\"secret\"}");
+		assertEquals("name", read.name);
+		assertEquals(null, read.secret);
+	}
+
+	@Test
+	public void subclassIsWrittenCompletely() throws Exception {
+		assertEquals(
+				"{\"name\":\"name\",\"secret\":null,\"extraValue\":1}",
+				provider.getWriter(Item.class, null, null).writeValueAsString(new ExtendedItem()));
+	}
+
+	@Test
+	public void binaryFormatsAreRoundTripped() throws Exception {
+		final List<Item> items = Arrays.asList(new Item("a", "b"), new Item("c", null));
+		final Type type = new TypeReference<List<Item>>() {}.getType();
+
+		for(MediaType mediaType : Arrays.asList(SMILE, CBOR)) {
+			final byte[] data = provider.getWriter(type, null, mediaType).writeValueAsBytes(items);
+			final List<Item> read = provider.getReader(type, null, mediaType).readValue(data);
+
+			assertEquals(items, read);
+		}
+
+		// NOTE Smile content starts with ":)\n", CBOR generator starts array of indefinite length 0x9F.
+		assertEquals(':', provider.getWriter(type, null, SMILE).writeValueAsBytes(items)[0]);
+		assertEquals((byte)0x9F, provider.getWriter(type, null, CBOR).writeValueAsBytes(items)[0]);
+	}
+
+	@Test
+	public void mapperIsResolvedForEveryType() throws Exception {
+		final ObjectMapper snakeCaseMapper = new ObjectMapper()
+				.setPropertyNamingStrategy(PropertyNamingStrategy.CAMEL_CASE_TO_LOWER_CASE_WITH_UNDERSCORES);
+		final ObjectMapperProvider resolvingProvider = new ObjectMapperProvider(
+				type -> type == ExtendedItem.class ? snakeCaseMapper : null);
+
+		assertSame(snakeCaseMapper, resolvingProvider.getContext(ExtendedItem.class));
+		assertEquals(
+				"{\"name\":null,\"secret\":null,\"extra_value\":2}",
+				resolvingProvider.getWriter(ExtendedItem.class, null, null).writeValueAsString(new ExtendedItem(2)));
+		assertEquals(
+				"{\"name\":\"a\",\"secret\":null}",
+				resolvingProvider.getWriter(Item.class, null, null).writeValueAsString(new Item("a", null)));
+		assertNotSame(
+				resolvingProvider.getFactory(snakeCaseMapper, SMILE),
+				resolvingProvider.getFactory(resolvingProvider.getContext(Item.class), SMILE));
+	}
+
+	public static class Views {
+
+		public static class Public {}
+
+		public static class Internal extends Public {}
+	}
+
+	public static class Item {
+
+		@JsonView(Views.Public.class)
+		public String name;
+
+		@JsonView(Views.Internal.class)
+		public String secret;
+
+		public Item() {
+		}
+
+		public Item(String name, String secret) {
+			this.name = name;
+			this.secret = secret;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Item)) {
+				return false;
+			}
+			final Item other = (Item)obj;
+			return Objects.equals(name, other.name) && Objects.equals(secret, other.secret);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name, secret);
+		}
+	}
+
+	public static class ExtendedItem extends Item {
+
+		public int extraValue;
+
+		public ExtendedItem() {
+			this(1);
+		}
+
+		public ExtendedItem(int extraValue) {
+			this.extraValue = extraValue;
+			this.name = extraValue == 1 ? "name" : null;
+		}
+	}
+}
@@ -19,6 +19,8 @@ import org.jvnet.hk2.annotations.Contract;
 import org.jvnet.hk2.annotations.Optional;
 import org.jvnet.hk2.annotations.Service;
 
+import com.expanset.jersey.i18n.ResourceFormatter;
+
 /**
  * Service to use in template processors to populate them with shared data.
  */
@@ -66,6 +68,11 @@ public class TemplatePopulatorService {
 	 */
 	public final static String RESOURCE_BUNDLE_PROPERTY = "resources";
 
+	/**
+	 * Variable name in template with formatter of resources of type {@link ResourceFormatter}.
+	 */
+	public final static String RESOURCE_FORMATTER_PROPERTY = "formatter";
+
 	/**
 	 * Variable name in template with resources of the program of type {@link java.security.Principal}.
 	 */
@@ -126,7 +133,9 @@ public class TemplatePopulatorService {
 		model.put(URI_PREFIX, servletRequest.getContextPath());
 		model.put(SECURITY_CONTEXT_PROPERTY, request.getSecurityContext());
 		model.put(PRINCIPAL_PROPERTY, request.getSecurityContext() != null ? request.getSecurityContext().getUserPrincipal() : null);
-		model.put(RESOURCE_BUNDLE_PROPERTY, resourceBundleProvider.get());
+		final ResourceBundle resourceBundle = resourceBundleProvider.get();
+		model.put(RESOURCE_BUNDLE_PROPERTY, resourceBundle);
+		model.put(RESOURCE_FORMATTER_PROPERTY, resourceBundle != null ? new ResourceFormatter(resourceBundle) : null);
 		for(String propertyName : request.getPropertyNames()) {
 			model.put(propertyName, request.getProperty(propertyName));
 		}
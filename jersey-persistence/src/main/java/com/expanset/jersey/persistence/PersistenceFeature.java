@@ -9,12 +9,14 @@ import javax.ws.rs.core.FeatureContext;
 
 import org.apache.commons.lang3.StringUtils;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.process.internal.RequestScoped;
 
 import com.expanset.hk2.persistence.config.MultipleDatabasesPersistenceConfiguratorSettings;
 import com.expanset.hk2.persistence.config.PersistenceConfigurator;
 import com.expanset.hk2.persistence.config.PersistenceConfiguratorSettings;
 import com.expanset.hk2.persistence.config.SingleDatabasePersistenceConfiguratorSettings;
 import com.expanset.hk2.persistence.transactions.LocalTransactionsBinder;
+import com.expanset.jersey.utils.RequestScopeMarker;
 
 /**
  * Registration of base services for support entity persistence.
@@ -94,6 +96,7 @@ public abstract class PersistenceFeature implements Feature {
 		final Configuration config = context.getConfiguration();
 
 		context.register(RequestPersistenceSessionManager.class);
+		RequestScopeMarker.register(context);
 		
 		context.register(new AbstractBinder() {
 			@Override
@@ -127,6 +130,7 @@ public abstract class PersistenceFeature implements Feature {
 				
 				addActiveDescriptor(PersistenceConfigurator.class);
 				addActiveDescriptor(RequestPersistenceSessionManager.class);
+				bindAsContract(RequestPersistenceSessionManager.RequestSession.class).in(RequestScoped.class);
 			}
 		});
 		
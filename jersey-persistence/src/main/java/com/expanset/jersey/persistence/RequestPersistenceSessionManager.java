@@ -1,6 +1,10 @@
 package com.expanset.jersey.persistence;
 
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.BaseStream;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -8,6 +12,9 @@ import javax.ws.rs.container.ContainerRequestContext;
 
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.process.internal.RequestScoped;
+import org.glassfish.jersey.server.CloseableService;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
@@ -15,7 +22,6 @@ import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent.Type;
 import org.jvnet.hk2.annotations.Service;
 
-import com.expanset.common.errors.ExceptionAdapter;
 import com.expanset.hk2.persistence.PersistenceSession;
 import com.expanset.hk2.persistence.ThreadScopePersistenceSessionManager;
 import com.expanset.jersey.utils.RequestScopeUtils;
@@ -28,9 +34,17 @@ public class RequestPersistenceSessionManager
 	extends ThreadScopePersistenceSessionManager
 	implements ApplicationEventListener {
 
+	/**
+	 * @deprecated Persistence session of request is kept in {@link RequestSession}, property is not set.
+	 */
+	@Deprecated
 	public static final String PERSISTENCE_SESSION = 
 			RequestPersistenceSessionManager.class.getName() + ".persistenceSession";
 
+	/**
+	 * @deprecated Persistence session of request is cleared by {@link RequestSession}, property is not set.
+	 */
+	@Deprecated
 	public final static String PERSISTENCE_SESSION_SCOPE = 
 			RequestPersistenceSessionManager.class.getName() + ".persistenceSessionScope";	
 
@@ -40,14 +54,32 @@ public class RequestPersistenceSessionManager
 	public static final String FACTORY_NAME_OVERRIDES = 
 			RequestPersistenceSessionManager.class.getName() + ".factoryNameOverrides";
 	
+	/**
+	 * @deprecated Persistence session of request is cleared by {@link RequestSession} after response is written,
+	 * so eviction is never deferred by property.
+	 */
+	@Deprecated
+	public static final String PERSISTENCE_SESSION_EVICTION_DEFERRED = 
+			RequestPersistenceSessionManager.class.getName() + ".persistenceSessionEvictionDeferred";
+	
 	@Inject
 	protected RequestScope requestScope;
 	
 	@Inject
 	protected Provider<ContainerRequestContext> requestProvider;	
 	
-	protected final RequestEventListener eventListener = 
-			event -> ExceptionAdapter.run(() -> RequestPersistenceSessionManager.this.onEvent(event));	
+	@Inject
+	protected Provider<CloseableService> closeableServiceProvider;
+	
+	@Inject
+	protected Provider<RequestSession> requestSessionProvider;
+	
+	protected final RequestEventListener eventListener = new AsyncRequestEventListener();
+	
+	/**
+	 * true - application contains asynchronous resource methods, so request events are processed.
+	 */
+	protected volatile boolean asyncMethods;
 	
 	public RequestPersistenceSessionManager() {
 		scopes.add(RequestScoped.class.getName());
@@ -59,16 +91,24 @@ public class RequestPersistenceSessionManager
 			return super.beginSession(factoryNameOverrides);
 		}
 		
-		final ContainerRequestContext request = requestProvider.get();
-		if(request.getProperty(PERSISTENCE_SESSION) != null) {
+		final RequestSession requestSession = requestSessionProvider.get();
+		if(requestSession.persistenceSession != null) {
 			return super.beginSession(factoryNameOverrides);
 		}
 		
 		final PersistenceSession persistenceSession = new PersistenceSession(factoryNameOverrides);
 		serviceLocator.inject(persistenceSession);
-		request.setProperty(PERSISTENCE_SESSION, persistenceSession);
+		requestSession.persistenceSession = persistenceSession;
+		
+		// NOTE Session is cleared when response is written, so requests without session do nothing.
+		if(!requestSession.registered) {
+			closeableServiceProvider.get().add(requestSession);
+			requestSession.registered = true;
+		}
 		
-		return () -> requestProvider.get().setProperty(PERSISTENCE_SESSION, null);
+		return () -> {
+			requestSession.persistenceSession = null;
+		};
 	}	
 	
 	@Override
@@ -77,16 +117,15 @@ public class RequestPersistenceSessionManager
 			return super.getCurrentSession();
 		}
 		
-		final ContainerRequestContext request = requestProvider.get();
-		final PersistenceSession session = 
-				(PersistenceSession)request.getProperty(PERSISTENCE_SESSION);
+		final RequestSession requestSession = requestSessionProvider.get();
+		final PersistenceSession session = requestSession.persistenceSession;
 		if(session == null) {
 			@SuppressWarnings("unchecked")
 			final Map<String, String> factoryNameOverrides = 
-					(Map<String, String>)request.getProperty(FACTORY_NAME_OVERRIDES);
+					(Map<String, String>)requestProvider.get().getProperty(FACTORY_NAME_OVERRIDES);
 			
-			request.setProperty(PERSISTENCE_SESSION_SCOPE, beginSession(factoryNameOverrides));
-			return (PersistenceSession)request.getProperty(PERSISTENCE_SESSION);
+			beginSession(factoryNameOverrides);
+			return requestSession.persistenceSession;
 		}
 		
 		return session;
@@ -94,34 +133,119 @@ public class RequestPersistenceSessionManager
 	
 	@Override
 	public void onEvent(ApplicationEvent event) {
+		if(event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED 
+				|| event.getType() == ApplicationEvent.Type.RELOAD_FINISHED) {
+			asyncMethods = hasAsyncMethods(event.getResourceModel().getResources());
+		}
 	}
 
 	@Override
 	public RequestEventListener onRequest(RequestEvent requestEvent) {
-		return eventListener;
+		return asyncMethods ? eventListener : null;
+	}
+	
+	/**
+	 * Returns persistence session of request without creation of it.
+	 * @return Persistence session or null, if request does not use persistence.
+	 */
+	protected PersistenceSession getOpenedSession() {
+		return requestSessionProvider.get().persistenceSession;
+	}
+	
+	protected boolean hasAsyncMethods(List<Resource> resources) {
+		for(Resource resource : resources) {
+			for(ResourceMethod resourceMethod : resource.getAllMethods()) {
+				if(isAsyncMethod(resourceMethod)) {
+					return true;
+				}
+			}
+			if(hasAsyncMethods(resource.getChildResources())) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	protected boolean isAsyncMethod(ResourceMethod resourceMethod) {
+		return resourceMethod.isSuspendDeclared() || resourceMethod.isManagedAsyncDeclared();
+	}
+	
+	protected boolean isStreamedMethod(ResourceMethod resourceMethod) {
+		final Class<?> responseType = resourceMethod.getInvocable().getRawResponseType();
+		return BaseStream.class.isAssignableFrom(responseType) || Iterator.class.isAssignableFrom(responseType);
+	}
+	
+	protected boolean isStream(Object entity) {
+		return entity instanceof BaseStream || entity instanceof Iterator;
 	}
+	
+	/**
+	 * Clears persistence contexts, created in request thread of asynchronous resource method.
+	 */
+	protected class AsyncRequestEventListener implements RequestEventListener {
 
-	protected void onEvent(RequestEvent event) 
-			throws Exception {
-		if(event.getType() == Type.RESOURCE_METHOD_FINISHED) {
+		@Override
+		public void onEvent(RequestEvent event) {
+			if(event.getType() != Type.RESOURCE_METHOD_FINISHED && event.getType() != Type.RESP_FILTERS_START) {
+				return;
+			}
+			
 			// Clear all persistence contexts, created in request thread. 
 			// Useful for async requests, that continue work in other thread.  
-			final PersistenceSession persistenceSession = getCurrentSession();
+			final ResourceMethod resourceMethod = event.getUriInfo().getMatchedResourceMethod();
+			if(resourceMethod == null || !isAsyncMethod(resourceMethod) || isStreamedMethod(resourceMethod)) {
+				// NOTE Stream is read from database while response is written.
+				return;
+			}
+			if(event.getType() == Type.RESOURCE_METHOD_FINISHED) {
+				if(!resourceMethod.isSuspendDeclared()) {
+					// NOTE Response of managed async method is processed in the same thread, 
+					// so its entity is checked before response filters.
+					return;
+				}
+			} else if(resourceMethod.isSuspendDeclared() 
+					|| event.getContainerResponse() == null 
+					|| isStream(event.getContainerResponse().getEntity())) {
+				return;
+			}
+			final PersistenceSession persistenceSession = getOpenedSession();
 			if(persistenceSession != null) {
 				persistenceSession.evictInCurrentThread();
 			}
-		} else if(event.getType() == Type.RESP_FILTERS_FINISHED) {
-			// Clear all persistence contexts. Here exception mapping is supported.
-			final PersistenceSession persistenceSession = getCurrentSession();
+		}
+	}
+	
+	/**
+	 * Persistence session of request, which is cleared when response is written.
+	 */
+	public static class RequestSession implements Closeable {
+		
+		protected volatile PersistenceSession persistenceSession;
+		
+		/**
+		 * true - session is registered in {@link CloseableService} of request.
+		 */
+		protected boolean registered;
+		
+		/**
+		 * @return Persistence session or null, if request does not use persistence.
+		 */
+		public PersistenceSession getPersistenceSession() {
+			return persistenceSession;
+		}
+
+		@Override
+		public void close() {
+			// NOTE Session may be closed already by its scope.
+			final PersistenceSession persistenceSession = this.persistenceSession;
 			if(persistenceSession != null) {
-				persistenceSession.evict();
-			}
-		} else if(event.getType() == Type.FINISHED) {
-			AutoCloseable scope = (AutoCloseable)event.getContainerRequest().getProperty(PERSISTENCE_SESSION_SCOPE);
-			if(scope != null) {
-				scope.close();
+				try {
+					// Clear all persistence contexts. Here exception mapping and streamed responses are supported.
+					persistenceSession.evict();
+				} finally {
+					this.persistenceSession = null;
+				}
 			}
-			event.getContainerRequest().setProperty(PERSISTENCE_SESSION_SCOPE, null);	
 		}
 	}
 }
@@ -0,0 +1,84 @@
+package com.expanset.jersey.persistence;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.junit.Test;
+
+public class RequestPersistenceSessionManagerTest {
+
+	@Test
+	public void requestEventsAreListenedForAsyncApplicationsOnly() {
+		final RequestPersistenceSessionManager manager = new RequestPersistenceSessionManager();
+		
+		manager.onEvent(event(ApplicationEvent.Type.INITIALIZATION_FINISHED, SyncResource.class));
+		assertNull(manager.onRequest(null));
+		
+		manager.onEvent(event(ApplicationEvent.Type.RELOAD_FINISHED, SyncResource.class, AsyncResource.class));
+		assertSame(manager.eventListener, manager.onRequest(null));
+		
+		manager.onEvent(event(ApplicationEvent.Type.RELOAD_FINISHED, SyncResource.class));
+		assertNull(manager.onRequest(null));
+	}
+	
+	@Test
+	public void requestSessionWithoutPersistenceIsClosed() {
+		final RequestPersistenceSessionManager.RequestSession requestSession = 
+				new RequestPersistenceSessionManager.RequestSession();
+		
+		requestSession.close();
+		
+		assertNull(requestSession.getPersistenceSession());
+	}
+	
+	private static ApplicationEvent event(ApplicationEvent.Type type, Class<?>... resourceClasses) {
+		final ResourceModel.Builder builder = new ResourceModel.Builder(false);
+		for(Class<?> resourceClass : resourceClasses) {
+			builder.addResource(Resource.from(resourceClass));
+		}
+		final ResourceModel resourceModel = builder.build();
+		
+		return (ApplicationEvent)Proxy.newProxyInstance(
+				ApplicationEvent.class.getClassLoader(), 
+				new Class<?>[] { ApplicationEvent.class }, 
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+					case "getType":
+						return type;
+					case "getResourceModel":
+						return resourceModel;
+					default:
+						return null;
+					}
+				});
+	}
+	
+	@Path("sync")
+	public static class SyncResource {
+		
+		@GET
+		public String get() {
+			return "";
+		}
+	}
+	
+	@Path("async")
+	public static class AsyncResource {
+		
+		@GET
+		@Path("child")
+		@ManagedAsync
+		public String get() {
+			return "";
+		}
+	}
+}
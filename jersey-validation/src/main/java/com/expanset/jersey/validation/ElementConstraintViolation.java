@@ -0,0 +1,311 @@
+package com.expanset.jersey.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.validation.ConstraintViolation;
+import javax.validation.ElementKind;
+import javax.validation.Path;
+import javax.validation.metadata.ConstraintDescriptor;
+
+import org.apache.commons.lang.Validate;
+
+/**
+ * Violation of the element of collection (or array) parameter, validated one by one,
+ * see {@link ValidationMode}.
+ * <p>Path of violation is relative to the resource method, like path of parameters validated as usual,
+ * for example {@code importItems.arg0[3].name}.</p>
+ */
+class ElementConstraintViolation<T> implements ConstraintViolation<T> {
+
+	private final ConstraintViolation<?> violation;
+
+	private final T resource;
+
+	private final Object[] parameters;
+
+	private final Path path;
+
+	/**
+	 * @param violation Violation of the element.
+	 * @param resource Resource.
+	 * @param parameters Parameters of resource method.
+	 * @param methodPath Nodes of resource method and parameter.
+	 * @param index Index of element in parameter.
+	 */
+	public ElementConstraintViolation(
+			@Nonnull ConstraintViolation<?> violation,
+			@Nonnull T resource,
+			@Nonnull Object[] parameters,
+			@Nonnull List<Path.Node> methodPath,
+			int index) {
+		Validate.notNull(violation, "violation");
+		Validate.notNull(resource, "resource");
+		Validate.notNull(parameters, "parameters");
+		Validate.notNull(methodPath, "methodPath");
+
+		this.violation = violation;
+		this.resource = resource;
+		this.parameters = parameters;
+
+		final List<Path.Node> nodes = new ArrayList<>(methodPath);
+		final Iterator<Path.Node> elementNodes = violation.getPropertyPath().iterator();
+		// NOTE First node of element path is the element itself or its property.
+		final Path.Node node = elementNodes.hasNext() ? elementNodes.next() : null;
+		if(node != null && node.getKind() == ElementKind.PROPERTY) {
+			nodes.add(new PropertyNode(node.getName(), index));
+		} else {
+			nodes.add(new BeanNode(index));
+		}
+		while(elementNodes.hasNext()) {
+			nodes.add(elementNodes.next());
+		}
+		this.path = new ElementPath(nodes);
+	}
+
+	/**
+	 * Creates node of resource method for path of violation.
+	 * @param name Method name.
+	 * @param parameterTypes Method parameter types.
+	 * @return Method node.
+	 */
+	public static Path.Node methodNode(String name, Class<?>[] parameterTypes) {
+		return new MethodNode(name, parameterTypes);
+	}
+
+	/**
+	 * Creates node of resource method parameter for path of violation.
+	 * @param name Parameter name.
+	 * @param index Parameter index.
+	 * @return Parameter node.
+	 */
+	public static Path.Node parameterNode(String name, int index) {
+		return new ParameterNode(name, index);
+	}
+
+	@Override
+	public String getMessage() {
+		return violation.getMessage();
+	}
+
+	@Override
+	public String getMessageTemplate() {
+		return violation.getMessageTemplate();
+	}
+
+	@Override
+	public T getRootBean() {
+		return resource;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Class<T> getRootBeanClass() {
+		return (Class<T>)resource.getClass();
+	}
+
+	@Override
+	public Object getLeafBean() {
+		return violation.getLeafBean();
+	}
+
+	@Override
+	public Object[] getExecutableParameters() {
+		return parameters;
+	}
+
+	@Override
+	public Object getExecutableReturnValue() {
+		return null;
+	}
+
+	@Override
+	public Path getPropertyPath() {
+		return path;
+	}
+
+	@Override
+	public Object getInvalidValue() {
+		return violation.getInvalidValue();
+	}
+
+	@Override
+	public ConstraintDescriptor<?> getConstraintDescriptor() {
+		return violation.getConstraintDescriptor();
+	}
+
+	@Override
+	public <U> U unwrap(Class<U> type) {
+		return violation.unwrap(type);
+	}
+
+	@Override
+	public String toString() {
+		return "ElementConstraintViolation{message=" + getMessage() + ", path=" + path + "}";
+	}
+
+	private static class ElementPath implements Path {
+
+		private final List<Path.Node> nodes;
+
+		public ElementPath(List<Path.Node> nodes) {
+			this.nodes = Collections.unmodifiableList(nodes);
+		}
+
+		@Override
+		public Iterator<Path.Node> iterator() {
+			return nodes.iterator();
+		}
+
+		@Override
+		public int hashCode() {
+			return nodes.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ElementPath && nodes.equals(((ElementPath)obj).nodes);
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder builder = new StringBuilder();
+			for(Path.Node node : nodes) {
+				if(node.isInIterable()) {
+					builder.append('[');
+					builder.append(node.getIndex() != null ? node.getIndex() : node.getKey());
+					builder.append(']');
+				}
+				if(node.getName() != null) {
+					if(builder.length() > 0) {
+						builder.append('.');
+					}
+					builder.append(node.getName());
+				}
+			}
+			return builder.toString();
+		}
+	}
+
+	private abstract static class Node implements Path.Node {
+
+		protected final ElementKind kind;
+
+		protected final String name;
+
+		protected final Integer index;
+
+		public Node(ElementKind kind, String name, Integer index) {
+			this.kind = kind;
+			this.name = name;
+			this.index = index;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public boolean isInIterable() {
+			return index != null;
+		}
+
+		@Override
+		public Integer getIndex() {
+			return index;
+		}
+
+		@Override
+		public Object getKey() {
+			return null;
+		}
+
+		@Override
+		public ElementKind getKind() {
+			return kind;
+		}
+
+		@Override
+		public <N extends Path.Node> N as(Class<N> nodeType) {
+			if(nodeType.isInstance(this)) {
+				return nodeType.cast(this);
+			}
+			throw new ClassCastException("Node of kind " + kind + " is not " + nodeType.getName());
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(new Object[] { kind, name, index });
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			final Node other = (Node)obj;
+			return kind == other.kind
+					&& (name != null ? name.equals(other.name) : other.name == null)
+					&& (index != null ? index.equals(other.index) : other.index == null);
+		}
+
+		@Override
+		public String toString() {
+			return name != null ? name : "";
+		}
+	}
+
+	private static class PropertyNode extends Node implements Path.PropertyNode {
+
+		public PropertyNode(String name, Integer index) {
+			super(ElementKind.PROPERTY, name, index);
+		}
+	}
+
+	private static class BeanNode extends Node implements Path.BeanNode {
+
+		public BeanNode(Integer index) {
+			super(ElementKind.BEAN, null, index);
+		}
+	}
+
+	private static class MethodNode extends Node implements Path.MethodNode {
+
+		private final List<Class<?>> parameterTypes;
+
+		public MethodNode(String name, Class<?>[] parameterTypes) {
+			super(ElementKind.METHOD, name, null);
+
+			this.parameterTypes = Collections.unmodifiableList(Arrays.asList(parameterTypes));
+		}
+
+		@Override
+		public List<Class<?>> getParameterTypes() {
+			return parameterTypes;
+		}
+	}
+
+	private static class ParameterNode extends Node implements Path.ParameterNode {
+
+		private final int parameterIndex;
+
+		public ParameterNode(String name, int parameterIndex) {
+			super(ElementKind.PARAMETER, name, null);
+
+			this.parameterIndex = parameterIndex;
+		}
+
+		@Override
+		public int getParameterIndex() {
+			return parameterIndex;
+		}
+	}
+}
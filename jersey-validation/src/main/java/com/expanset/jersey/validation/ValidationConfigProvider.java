@@ -1,8 +1,15 @@
 package com.expanset.jersey.validation;
 
 import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Provider;
 
@@ -33,22 +40,56 @@ public class ValidationConfigProvider implements ContextResolver<ValidationConfi
     @Optional
 	protected ResourceBundleProvider resourceBundleProvider;    
 	
-	@Override
-	public ValidationConfig getContext(Class<?> type) {
-		if(validationConfig == null) {
-			validationConfig = new ValidationConfig();
-		}
-		if(validationConfig.getMessageInterpolator() == null && resourceBundleProvider != null) {
-			validationConfig.messageInterpolator(
+	protected volatile ValidationConfig configuredValidationConfig;
+	
+	protected final int interpolationCacheSize;
+	
+	private final static String DEFAULT_VALIDATION_MESSAGES = "org.hibernate.validator.ValidationMessages";
+	
+	private final static String EXPRESSION_START = "${";
+	
+	private final static int MAX_PARAMETER_DEPTH = 10;
+	
+	@Inject
+	public ValidationConfigProvider(Configuration config) {
+		final Integer interpolationCacheSize = (Integer)config.getProperty(ValidationFeature.INTERPOLATION_CACHE_SIZE);
+		this.interpolationCacheSize = interpolationCacheSize != null ? 
+				interpolationCacheSize : ValidationFeature.INTERPOLATION_CACHE_SIZE_DEFAULT;
+	}
+	
+	/**
+	 * Configuration is built once, before provider is used.
+	 */
+	@PostConstruct
+	public void initialize() {
+		final ValidationConfig config = validationConfig != null ? validationConfig : new ValidationConfig(); 
+		if(config.getMessageInterpolator() == null && resourceBundleProvider != null) {
+			config.messageInterpolator(
 					new RequestResourceBundleMessageInterpolator(
 							locale -> resourceBundleProvider.get(locale)));
 		}
 		
-        return validationConfig;
+		this.configuredValidationConfig = config;
+	}
+	
+	@Override
+	public ValidationConfig getContext(Class<?> type) {
+        return configuredValidationConfig;
 	}
 	
 	protected class RequestResourceBundleMessageInterpolator extends ResourceBundleMessageInterpolator {
 
+		/**
+		 * Interpolated messages, which do not depend on validated value.
+		 */
+		protected final ConcurrentHashMap<InterpolationKey, String> cache = new ConcurrentHashMap<>();
+		
+		/**
+		 * Marks messages in cache, which contain expressions and are interpolated every time.
+		 */
+		// NOTE Compared by identity.
+		protected final String notCacheable = new String();
+		
 		public RequestResourceBundleMessageInterpolator(ResourceBundleLocator resourceLocator) {
 			super(resourceLocator);
 		}
@@ -59,8 +100,114 @@ public class ValidationConfigProvider implements ContextResolver<ValidationConfi
 			if(locale == null) {
 				locale = Locale.getDefault();
 			}
-			final String interpolatedMessage = interpolate(message, context, locale);
+			
+			if(interpolationCacheSize <= 0) {
+				return interpolate(message, context, locale);
+			}
+			
+			// NOTE Bundle is a part of key, so reloaded resources are not mixed with cached messages.
+			final ResourceBundle bundle = resourceBundleProvider.get(locale);
+			final InterpolationKey key = new InterpolationKey(
+					message, 
+					locale, 
+					context.getConstraintDescriptor().getAttributes(), 
+					bundle);
+			String interpolatedMessage = cache.get(key);
+			if(interpolatedMessage == notCacheable) {
+				return interpolate(message, context, locale);
+			}
+			if(interpolatedMessage == null) {
+				interpolatedMessage = interpolate(message, context, locale);
+				if(cache.size() >= interpolationCacheSize) {
+					cache.clear();
+				}
+				// NOTE Expressions may use validated value, so messages with them are not cached.
+				cache.put(key, hasExpressions(message, bundle, locale, 0) ? notCacheable : interpolatedMessage);
+			}
 			return interpolatedMessage;
 		}	
+		
+		/**
+		 * Checks whether message or resolved message parameters contain expressions.
+		 * @param message Message template.
+		 * @param bundle Resources of the application.
+		 * @param locale Locale of the message.
+		 * @param depth Depth of parameter resolution.
+		 * @return true if message contains expressions or depth of parameters is too big to check.
+		 */
+		protected boolean hasExpressions(String message, ResourceBundle bundle, Locale locale, int depth) {
+			if(message.contains(EXPRESSION_START) || depth > MAX_PARAMETER_DEPTH) {
+				return true;
+			}
+			
+			int start = message.indexOf('{');
+			while(start >= 0) {
+				final int end = message.indexOf('}', start);
+				if(end < 0) {
+					break;
+				}
+				final String parameter = message.substring(start + 1, end);
+				final String resolved = findParameter(parameter, bundle, locale);
+				if(resolved != null && hasExpressions(resolved, bundle, locale, depth + 1)) {
+					return true;
+				}
+				start = message.indexOf('{', end);
+			}
+			return false;
+		}
+		
+		protected String findParameter(String parameter, ResourceBundle bundle, Locale locale) {
+			if(bundle != null && bundle.containsKey(parameter)) {
+				return bundle.getString(parameter);
+			}
+			try {
+				final ResourceBundle defaultBundle = ResourceBundle.getBundle(DEFAULT_VALIDATION_MESSAGES, locale);
+				return defaultBundle.containsKey(parameter) ? defaultBundle.getString(parameter) : null;
+			} catch (MissingResourceException e) {
+				return null;
+			}
+		}
 	}	
+	
+	protected static class InterpolationKey {
+		
+		protected final String message;
+		
+		protected final Locale locale;
+		
+		protected final Map<String, Object> attributes;
+		
+		protected final Object bundle;
+		
+		protected final int hashCode;
+		
+		public InterpolationKey(String message, Locale locale, Map<String, Object> attributes, Object bundle) {
+			this.message = message;
+			this.locale = locale;
+			this.attributes = attributes;
+			this.bundle = bundle;
+			this.hashCode = Objects.hash(message, locale, attributes, System.identityHashCode(bundle));
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof InterpolationKey)) {
+				return false;
+			}
+			final InterpolationKey other = (InterpolationKey)obj;
+			return hashCode == other.hashCode
+					&& bundle == other.bundle
+					&& message.equals(other.message)
+					&& locale.equals(other.locale)
+					&& Objects.equals(attributes, other.attributes);
+		}
+	}
 }
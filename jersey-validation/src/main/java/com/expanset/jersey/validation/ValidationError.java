@@ -58,4 +58,14 @@ public class ValidationError {
 	public String getMessage() {
 		return message;
 	}
+
+	/**
+	 * @return Simple name of constraint annotation or null if error is not caused by constraint.
+	 */
+	public String getCode() {
+		if(violation == null || violation.getConstraintDescriptor() == null) {
+			return null;
+		}
+		return violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName();
+	}
 }
@@ -1,19 +1,41 @@
 package com.expanset.jersey.validation;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
+import javax.validation.Path;
+import javax.validation.Valid;
 import javax.validation.executable.ExecutableValidator;
 import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.MethodDescriptor;
+import javax.validation.metadata.ParameterDescriptor;
 import javax.ws.rs.ConstrainedTo;
 import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
 
@@ -26,9 +48,12 @@ import org.glassfish.hk2.api.InterceptionService;
 import org.glassfish.hk2.api.PerLookup;
 import org.glassfish.hk2.utilities.BuilderHelper;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.internal.util.Producer;
+import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
 import org.glassfish.jersey.server.model.Invocable;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
 import org.jvnet.hk2.annotations.Service;
@@ -54,10 +79,55 @@ import org.jvnet.hk2.annotations.Service;
  * {'fieldName': 'error description'} 
  * </pre>
  * <p>where 'fieldName' - property name.</p>
+ * <p>Configuration parameters:</p>
+ * <ul>
+ * <li>{@link com.expanset.jersey.validation.ValidationFeature#INTERPOLATION_CACHE_SIZE}</li>
+ * <li>{@link com.expanset.jersey.validation.ValidationFeature#ERRORS_FORMAT}</li>
+ * <li>{@link com.expanset.jersey.validation.ValidationFeature#PARALLELISM}</li>
+ * </ul>
  */
 @ConstrainedTo(RuntimeType.SERVER)
 public class ValidationFeature implements Feature {
 
+	/**
+     * {@link Integer} property defining the maximum count of cached interpolated validation messages. 
+     * Messages, which refer to validated value, are not cached. Value 0 disables cache.
+     * <p>Default value is 1000.</p>
+	 */
+	public final static String INTERPOLATION_CACHE_SIZE = ValidationFeature.class.getName() + ".interpolationCacheSize";
+
+	/**
+	 * Default value for {@link com.expanset.jersey.validation.ValidationFeature#INTERPOLATION_CACHE_SIZE}.
+	 */
+	public final static int INTERPOLATION_CACHE_SIZE_DEFAULT = 1000;
+
+	/**
+     * {@link String} property defining the JSON format of validation errors:
+     * {@link com.expanset.jersey.validation.ValidationFeature#ERRORS_FORMAT_OBJECT} or
+     * {@link com.expanset.jersey.validation.ValidationFeature#ERRORS_FORMAT_ARRAY}.
+     * <p>Default value is {@link com.expanset.jersey.validation.ValidationFeature#ERRORS_FORMAT_OBJECT}.</p>
+	 */
+	public final static String ERRORS_FORMAT = ValidationFeature.class.getName() + ".errorsFormat";
+
+	/**
+	 * Errors are written as object with concatenated messages for every property:
+	 * <pre>{'fieldName': 'error description'}</pre>
+	 */
+	public final static String ERRORS_FORMAT_OBJECT = "object";
+
+	/**
+	 * Errors are written as array:
+	 * <pre>[{'property': 'fieldName', 'message': 'error description', 'code': 'NotNull'}]</pre>
+	 */
+	public final static String ERRORS_FORMAT_ARRAY = "array";
+
+	/**
+     * {@link Integer} property defining the count of threads for parallel validation, 
+     * see {@link com.expanset.jersey.validation.ValidationMode#parallel()}.
+     * <p>Default value is count of processors.</p>
+	 */
+	public final static String PARALLELISM = ValidationFeature.class.getName() + ".parallelism";
+
 	@Override
 	public boolean configure(FeatureContext context) {
         context.property(ServerProperties.BV_FEATURE_DISABLE, false);
@@ -65,6 +135,7 @@ public class ValidationFeature implements Feature {
         context.register(ValidationConfigProvider.class);
         context.register(ValidationResultMessageBodyWriter.class);
         context.register(ConstraintViolationExceptionMapper.class);
+        context.register(ValidationMetadataPreloader.class);
 
         context.register(new AbstractBinder() {
 			@Override
@@ -94,13 +165,22 @@ public class ValidationFeature implements Feature {
 	}
 
 	@Service
+	@Singleton
 	private static class ResourceMethodDispatcherProviderInterceptorService implements InterceptionService {
 
 		@Inject
 		private Provider<ContainerRequest> containerRequestProvider;
 		
+		@Inject
+		private Provider<Configuration> configProvider;
+		
+		@Inject
+		private Provider<RequestScope> requestScopeProvider;
+		
 		private final List<MethodInterceptor> interceptors = new ArrayList<>();
 		
+		private ForkJoinPool pool;
+		
 		@SuppressWarnings("unused")
 		public ResourceMethodDispatcherProviderInterceptorService() {
 			interceptors.add(new ConfiguredValidatorInterceptor());
@@ -124,6 +204,23 @@ public class ValidationFeature implements Feature {
 			return null;
 		}
 		
+		private synchronized ForkJoinPool getPool() {
+			if(pool == null) {
+				final Integer parallelism = (Integer)configProvider.get().getProperty(PARALLELISM);
+				pool = new ForkJoinPool(parallelism != null ? 
+						parallelism : Runtime.getRuntime().availableProcessors());
+			}
+			return pool;
+		}
+		
+		@PreDestroy
+		public synchronized void shutdown() {
+			if(pool != null) {
+				pool.shutdownNow();
+				pool = null;
+			}
+		}
+		
 		private class ConfiguredValidatorInterceptor implements MethodInterceptor {
 
 			@Override
@@ -133,79 +230,351 @@ public class ValidationFeature implements Feature {
 				for(int i = 0; i < args.length; i++) {
 					if(args[i] instanceof ConfiguredValidator) {
 						found = true;
-						final ConfiguredValidator validator = (ConfiguredValidator)args[i];
-						args[i] = new ConfiguredValidator() {
-
-							@Override
-							public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
-								return validator.validate(object, groups);
+						final MethodValidator validator = new MethodValidator(
+								(ConfiguredValidator)args[i], 
+								containerRequestProvider, 
+								requestScopeProvider,
+								ResourceMethodDispatcherProviderInterceptorService.this::getPool);
+						args[i] = validator;
+						
+						// NOTE Resource method is known at model build time, so prepare it now.
+						for(Object arg : args) {
+							if(arg instanceof Invocable) {
+								validator.getMethodInfo(null, (Invocable)arg);
 							}
+						}
+						break;
+					}
+				}
+				
+				if(!found) {
+					throw new RuntimeException("Required argument (ConfiguredValidator) not found in method ResourceMethodDispatcher.Provider.create. This version of Jersey is not supported");
+				}
 
-							@Override
-							public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
-								return validator.validateProperty(object, propertyName, groups);
-							}
+				return invocation.proceed();
+			}
+		}
+	}
+	
+	/**
+	 * Validator, which puts validation errors into {@link ValidationResult} parameter of resource method.
+	 * Methods without constraints are not validated.
+	 */
+	private static class MethodValidator implements ConfiguredValidator {
+		
+		private final ConfiguredValidator validator;
+		
+		private final Provider<ContainerRequest> containerRequestProvider;
 
-							@Override
-							public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value, Class<?>... groups) {
-								return validator.validateValue(beanType, propertyName, value, groups);
-							}
+		private final Provider<RequestScope> requestScopeProvider;
 
-							@Override
-							public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
-								return validator.getConstraintsForClass(clazz);
-							}
+		private final Supplier<ForkJoinPool> poolSupplier;
 
-							@Override
-							public <T> T unwrap(Class<T> type) {
-								return validator.unwrap(type);
-							}
+		private final ConcurrentHashMap<Method, MethodInfo> methods = new ConcurrentHashMap<>();
+		
+		public MethodValidator(
+				ConfiguredValidator validator, 
+				Provider<ContainerRequest> containerRequestProvider,
+				Provider<RequestScope> requestScopeProvider,
+				Supplier<ForkJoinPool> poolSupplier) {
+			this.validator = validator;
+			this.containerRequestProvider = containerRequestProvider;
+			this.requestScopeProvider = requestScopeProvider;
+			this.poolSupplier = poolSupplier;
+		}
 
-							@Override
-							public ExecutableValidator forExecutables() {
-								return validator.forExecutables();
-							}
+		@Override
+		public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+			return validator.validate(object, groups);
+		}
 
-							@Override
-							public void validateResourceAndInputParams(Object resource, Invocable resourceMethod, Object[] args)
-									throws ConstraintViolationException {
-								ValidationResult validationResult = null;
-								for(int i = 0; i < args.length; i++) {
-									if(args[i] instanceof ValidationResult) {
-										validationResult = (ValidationResult)args[i];
-										containerRequestProvider.get().setProperty(ValidationResult.PROPERTY_NAME, validationResult);
-										break;
-									}
-								}
-								
-								if(validationResult != null) {
-									try {
-										validator.validateResourceAndInputParams(resource, resourceMethod, args);
-									} catch(ConstraintViolationException e) {
-										validationResult.setViolations(e.getConstraintViolations());
-									}
-								} else {
-									validator.validateResourceAndInputParams(resource, resourceMethod, args);
-								}
-							}
+		@Override
+		public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+			return validator.validateProperty(object, propertyName, groups);
+		}
 
-							@Override
-							public void validateResult(Object resource, Invocable resourceMethod, Object result)
-									throws ConstraintViolationException {
-								validator.validateResult(resource, resourceMethod, result);
-							}
-						};
-						
-						break;
+		@Override
+		public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value, Class<?>... groups) {
+			return validator.validateValue(beanType, propertyName, value, groups);
+		}
+
+		@Override
+		public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+			return validator.getConstraintsForClass(clazz);
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> type) {
+			return validator.unwrap(type);
+		}
+
+		@Override
+		public ExecutableValidator forExecutables() {
+			return validator.forExecutables();
+		}
+
+		@Override
+		public void validateResourceAndInputParams(Object resource, Invocable resourceMethod, Object[] args)
+				throws ConstraintViolationException {
+			final MethodInfo methodInfo = getMethodInfo(resource, resourceMethod);
+			
+			ValidationResult validationResult = null;
+			if(methodInfo.validationResultIndex >= 0) {
+				validationResult = (ValidationResult)args[methodInfo.validationResultIndex];
+				if(validationResult != null) {
+					containerRequestProvider.get().setProperty(ValidationResult.PROPERTY_NAME, validationResult);
+				}
+			}
+			
+			if(!methodInfo.constrained) {
+				return;
+			}
+			
+			if(methodInfo.mode != null) {
+				final Set<ConstraintViolation<?>> violations = 
+						validateElements(resource, resourceMethod, args, methodInfo);
+				if(!violations.isEmpty()) {
+					if(validationResult != null) {
+						validationResult.setViolations(violations);
+					} else {
+						throw new ConstraintViolationException(violations);
 					}
 				}
+				return;
+			}
+			
+			if(validationResult != null) {
+				try {
+					validator.validateResourceAndInputParams(resource, resourceMethod, args);
+				} catch(ConstraintViolationException e) {
+					validationResult.setViolations(e.getConstraintViolations());
+				}
+			} else {
+				validator.validateResourceAndInputParams(resource, resourceMethod, args);
+			}
+		}
+
+		@Override
+		public void validateResult(Object resource, Invocable resourceMethod, Object result)
+				throws ConstraintViolationException {
+			if(getMethodInfo(resource, resourceMethod).returnValueConstrained) {
+				validator.validateResult(resource, resourceMethod, result);
+			}
+		}
+		
+		private Set<ConstraintViolation<?>> validateElements(
+				Object resource, 
+				Invocable resourceMethod, 
+				Object[] args, 
+				MethodInfo methodInfo) {
+			final int maxViolations = methodInfo.mode.maxViolations() > 0 ? 
+					methodInfo.mode.maxViolations() : Integer.MAX_VALUE;
+			
+			// NOTE Parameters with elements have no own constraints, so null value is valid for them.
+			final Object[] otherArgs = args.clone();
+			final List<Element> elements = new ArrayList<>();
+			for(int i = 0; i < args.length; i++) {
+				if(methodInfo.elementParameters != null && methodInfo.elementParameters[i]) {
+					final Iterable<?> values;
+					if(args[i] instanceof Collection) {
+						values = (Collection<?>)args[i];
+					} else if(args[i] instanceof Object[]) {
+						values = Arrays.asList((Object[])args[i]);
+					} else {
+						continue;
+					}
+					otherArgs[i] = null;
+					int index = 0;
+					for(Object value : values) {
+						if(value != null) {
+							elements.add(new Element(value, i, index));
+						}
+						index++;
+					}
+				}
+			}
+			
+			final Set<ConstraintViolation<?>> violations = new LinkedHashSet<>();
+			try {
+				validator.validateResourceAndInputParams(resource, resourceMethod, otherArgs);
+			} catch(ConstraintViolationException e) {
+				violations.addAll(e.getConstraintViolations());
+			}
+			
+			final AtomicInteger violationCount = new AtomicInteger(violations.size());
+			final Function<Element, List<ConstraintViolation<?>>> elementValidator = element -> {
+				if(violationCount.get() >= maxViolations) {
+					return Collections.emptyList();
+				}
+				final Set<ConstraintViolation<Object>> elementViolations = validator.validate(element.value);
+				if(elementViolations.isEmpty()) {
+					return Collections.emptyList();
+				}
+				violationCount.addAndGet(elementViolations.size());
 				
-				if(!found) {
-					throw new RuntimeException("Required argument (ConfiguredValidator) not found in method ResourceMethodDispatcher.Provider.create. This version of Jersey is not supported");
+				final List<Path.Node> methodPath = methodInfo.parameterPaths.get(element.parameterIndex);
+				final List<ConstraintViolation<?>> result = new ArrayList<>(elementViolations.size());
+				for(ConstraintViolation<Object> violation : elementViolations) {
+					result.add(new ElementConstraintViolation<>(violation, resource, args, methodPath, element.index));
+				}
+				return result;
+			};
+			
+			if(methodInfo.mode.parallel() && elements.size() > 1) {
+				// NOTE The first element is validated in request thread, so request scoped services, used by 
+				// validators and message interpolator, are created before parallel validation.
+				violations.addAll(elementValidator.apply(elements.get(0)));
+				final List<Element> otherElements = elements.subList(1, elements.size());
+				
+				// NOTE Workers of pool use scope of the request to get request scoped services (locale etc).
+				final RequestScope requestScope = requestScopeProvider.get();
+				final RequestScope.Instance scopeInstance = requestScope.referenceCurrent();
+				final List<List<ConstraintViolation<?>>> results;
+				try {
+					results = poolSupplier.get().submit(() -> otherElements.parallelStream()
+							.map(element -> requestScope.runInScope(
+									scopeInstance, 
+									(Producer<List<ConstraintViolation<?>>>)() -> elementValidator.apply(element)))
+							.collect(Collectors.toList())).get();
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException(e);
+				} catch(ExecutionException e) {
+					if(e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException)e.getCause();
+					}
+					throw new IllegalStateException(e.getCause());
+				} finally {
+					scopeInstance.release();
 				}
+				results.forEach(violations::addAll);
+			} else {
+				for(Element element : elements) {
+					violations.addAll(elementValidator.apply(element));
+				}
+			}
+			
+			if(violations.size() > maxViolations) {
+				final Iterator<ConstraintViolation<?>> iterator = violations.iterator();
+				for(int i = 0; iterator.hasNext(); i++) {
+					iterator.next();
+					if(i >= maxViolations) {
+						iterator.remove();
+					}
+				}
+			}
+			
+			return violations;
+		}
+		
+		public MethodInfo getMethodInfo(Object resource, Invocable resourceMethod) {
+			final Method method = resourceMethod.getHandlingMethod();
+			MethodInfo methodInfo = methods.get(method);
+			if(methodInfo == null) {
+				final Class<?> resourceClass = resource != null ? 
+						resource.getClass() : resourceMethod.getHandler().getHandlerClass();
+				methodInfo = methods.computeIfAbsent(method, key -> new MethodInfo(validator, resourceClass, key));
+			}
+			return methodInfo;
+		}
+	}
+	
+	/**
+	 * Element of collection (or array) parameter.
+	 */
+	private static class Element {
+		
+		private final Object value;
+		
+		private final int parameterIndex;
+		
+		private final int index;
+		
+		public Element(Object value, int parameterIndex, int index) {
+			this.value = value;
+			this.parameterIndex = parameterIndex;
+			this.index = index;
+		}
+	}
+	
+	/**
+	 * Validation properties of resource method.
+	 */
+	private static class MethodInfo {
 
-				return invocation.proceed();
+		/**
+		 * Index of {@link ValidationResult} parameter or -1.
+		 */
+		private final int validationResultIndex;
+		
+		private final boolean constrained;
+		
+		private final boolean returnValueConstrained;
+		
+		private final ValidationMode mode;
+		
+		/**
+		 * Flags of parameters, which elements are validated one by one, or null.
+		 */
+		private final boolean[] elementParameters;
+		
+		/**
+		 * Path nodes of method and parameter by index of parameter, which elements are validated one by one.
+		 */
+		private final Map<Integer, List<Path.Node>> parameterPaths;
+		
+		public MethodInfo(ConfiguredValidator validator, Class<?> resourceClass, Method method) {
+			int validationResultIndex = -1;
+			final Class<?>[] parameterTypes = method.getParameterTypes();
+			for(int i = 0; i < parameterTypes.length; i++) {
+				if(ValidationResult.class.isAssignableFrom(parameterTypes[i])) {
+					validationResultIndex = i;
+					break;
+				}
+			}
+			
+			final BeanDescriptor beanDescriptor = validator.getConstraintsForClass(resourceClass);
+			final MethodDescriptor methodDescriptor = 
+					beanDescriptor.getConstraintsForMethod(method.getName(), parameterTypes);
+			
+			this.validationResultIndex = validationResultIndex;
+			this.constrained = beanDescriptor.isBeanConstrained() 
+					|| (methodDescriptor != null && methodDescriptor.hasConstrainedParameters());
+			this.returnValueConstrained = methodDescriptor != null && methodDescriptor.hasConstrainedReturnValue();
+			this.mode = new AnnotatedMethod(method).getAnnotation(ValidationMode.class);
+			
+			boolean[] elementParameters = null;
+			final Map<Integer, List<Path.Node>> parameterPaths = new HashMap<>();
+			if(mode != null && methodDescriptor != null) {
+				final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+				for(ParameterDescriptor parameter : methodDescriptor.getParameterDescriptors()) {
+					final int index = parameter.getIndex();
+					final Class<?> type = parameterTypes[index];
+					if(parameter.isCascaded()
+							&& !parameter.hasConstraints()
+							&& (Collection.class.isAssignableFrom(type) || Object[].class.isAssignableFrom(type))
+							&& isValid(parameterAnnotations[index])) {
+						if(elementParameters == null) {
+							elementParameters = new boolean[parameterTypes.length];
+						}
+						elementParameters[index] = true;
+						parameterPaths.put(index, Arrays.asList(
+								ElementConstraintViolation.methodNode(method.getName(), parameterTypes),
+								ElementConstraintViolation.parameterNode(parameter.getName(), index)));
+					}
+				}
+			}
+			this.elementParameters = elementParameters;
+			this.parameterPaths = parameterPaths;
+		}
+		
+		private static boolean isValid(Annotation[] annotations) {
+			for(Annotation annotation : annotations) {
+				if(annotation.annotationType() == Valid.class) {
+					return true;
+				}
 			}
+			return false;
 		}
 	}
 }
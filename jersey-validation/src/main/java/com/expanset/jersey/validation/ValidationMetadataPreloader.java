@@ -0,0 +1,80 @@
+package com.expanset.jersey.validation;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.validation.Validator;
+
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds validation metadata of resource classes and parameters of resource methods on application start,
+ * so first requests do not pay for it.
+ */
+public class ValidationMetadataPreloader implements ApplicationEventListener {
+
+	@Inject
+	protected ServiceLocator serviceLocator;
+
+	private final static Logger log = LoggerFactory.getLogger(ValidationMetadataPreloader.class);
+
+	@Override
+	public void onEvent(ApplicationEvent event) {
+		if(event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED) {
+			try {
+				final Validator validator = serviceLocator.getService(ConfiguredValidator.class);
+				if(validator == null) {
+					return;
+				}
+
+				final Set<Class<?>> classes = new HashSet<>();
+				collectClasses(event.getResourceModel().getResources(), classes);
+				for(Class<?> clazz : classes) {
+					validator.getConstraintsForClass(clazz);
+				}
+
+				log.debug("Validation metadata of {} classes is loaded", classes.size());
+			} catch (Throwable e) {
+				// NOTE Preloading is optimization only.
+				log.warn("Unable to preload validation metadata", e);
+			}
+		}
+	}
+
+	@Override
+	public RequestEventListener onRequest(RequestEvent requestEvent) {
+		return null;
+	}
+
+	protected void collectClasses(List<Resource> resources, Set<Class<?>> classes) {
+		for(Resource resource : resources) {
+			for(ResourceMethod resourceMethod : resource.getAllMethods()) {
+				final Method method = resourceMethod.getInvocable().getHandlingMethod();
+				addClass(resourceMethod.getInvocable().getHandler().getHandlerClass(), classes);
+				for(Class<?> parameterType : method.getParameterTypes()) {
+					addClass(parameterType, classes);
+				}
+			}
+			collectClasses(resource.getChildResources(), classes);
+		}
+	}
+
+	protected void addClass(Class<?> clazz, Set<Class<?>> classes) {
+		if(clazz.isPrimitive() || clazz.isArray() || clazz.getName().startsWith("java.")) {
+			return;
+		}
+		classes.add(clazz);
+	}
+}
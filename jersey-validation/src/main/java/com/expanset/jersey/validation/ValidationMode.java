@@ -0,0 +1,40 @@
+package com.expanset.jersey.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mode of validation of resource method parameters, useful for methods with large collections in request.
+ * <p>Elements of collection (or array) parameters, marked by {@link javax.validation.Valid} without other
+ * constraints, are validated one by one. Other parameters are validated as usual.
+ * Errors are merged into {@link ValidationResult} parameter or thrown as
+ * {@link javax.validation.ConstraintViolationException}. Paths of element errors are relative to the resource 
+ * method, for example {@code importItems.arg0[3].name}.</p>
+ * <pre>Example:</pre>
+ * <pre>
+ * {@literal @}POST
+ * {@literal @}ValidationMode(parallel = true, maxViolations = 100)
+ * public void importItems({@literal @}Valid List&lt;Item&gt; items) {
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ValidationMode {
+
+	/**
+	 * @return true - elements of collections are validated in parallel,
+	 * see {@link com.expanset.jersey.validation.ValidationFeature#PARALLELISM}. Threads of pool validate elements 
+	 * in scope of the request, the first element is validated by the request thread.
+	 */
+	boolean parallel() default false;
+
+	/**
+	 * @return Validation is stopped when count of violations reaches this value, 0 - all violations are collected.
+	 */
+	int maxViolations() default 0;
+}
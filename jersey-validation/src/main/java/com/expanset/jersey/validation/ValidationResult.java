@@ -4,9 +4,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nonnull;
 import javax.validation.ConstraintViolation;
@@ -20,6 +23,8 @@ import org.jvnet.hk2.annotations.Contract;
 
 /**
  * Result of model validation.
+ * <p>Concatenated error messages are rendered once and remembered. Property names, mapped by overridden 
+ * {@link #pathToPropertyName(Path)}, are cached for every class of result.</p>
  */
 @Contract
 public class ValidationResult {
@@ -28,11 +33,58 @@ public class ValidationResult {
 	 * Variable name for using in template engine.
 	 */
 	public static final String PROPERTY_NAME = "validation";
-	
+
 	protected Set<ConstraintViolation<?>> violations = null;
-	
+
+	/**
+	 * Errors by property, in order of appearance. Errors should be added by {@link #addError}, 
+	 * so rendered messages are reset.
+	 */
 	protected Map<String, List<ValidationError>> validationErrors = null;
 
+	/**
+	 * Rendered error messages by property and template.
+	 */
+	protected Map<RenderKey, String> renderedErrors = null;
+
+	/**
+	 * Property names by root bean class and path, for classes of result, which override 
+	 * {@link #pathToPropertyName(Path)}. Keys are strings, so paths and classes are not retained.
+	 */
+	private static final ClassValue<ConcurrentHashMap<String, String>> propertyNames = 
+			new ClassValue<ConcurrentHashMap<String, String>>() {
+		@Override
+		protected ConcurrentHashMap<String, String> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * Flags for classes of result, which use default {@link #pathToPropertyName(Path)}.
+	 */
+	private static final ClassValue<Boolean> defaultPropertyNames = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for(Class<?> current = type; current != ValidationResult.class; current = current.getSuperclass()) {
+				try {
+					current.getDeclaredMethod("pathToPropertyName", Path.class);
+					return false;
+				} catch (NoSuchMethodException e) {
+					// NOTE Method is not overridden in this class.
+				}
+			}
+			return true;
+		}
+	};
+
+	private static final int PROPERTY_NAMES_CACHE_SIZE = 10000;
+
+	private static final String DEFAULT_TEMPLATE = "%s.";
+
+	private static final String DEFAULT_SEPARATOR = " ";
+
+	private static final String MESSAGE_PLACEHOLDER = "%s";
+
 	public ValidationResult() {
 		this.violations = null;
 		this.validationErrors = null;
@@ -50,7 +102,7 @@ public class ValidationResult {
 	 */
 	public Set<ConstraintViolation<?>> getViolations() {
 		return violations;
-	}	
+	}
 
 	/**
 	 * Set validation errors.
@@ -62,18 +114,14 @@ public class ValidationResult {
 		Validate.notNull(violations, "violations");
 
 		this.violations = (Set<ConstraintViolation<?>>)violations;
-		this.validationErrors = new HashMap<>(this.violations.size());
+		this.validationErrors = new LinkedHashMap<>(this.violations.size() * 2);
+		this.renderedErrors = null;
 		for(ConstraintViolation<?> violation : this.violations) {
-			final String propertyName = pathToPropertyName(violation.getPropertyPath());
-			List<ValidationError> errors = validationErrors.get(propertyName);
-			if(errors == null) {
-				errors = new ArrayList<>();
-				validationErrors.put(propertyName, errors);
-			}
-			errors.add(new ValidationError(propertyName, violation));
+			final String propertyName = getPropertyName(violation);
+			addError(propertyName, new ValidationError(propertyName, violation));
 		}
 	}
-	
+
 	/**
 	 * Returns list of error messages for the concrete property.
 	 * @param property Property name.
@@ -81,16 +129,12 @@ public class ValidationResult {
 	 */
 	public List<String> getErrorList(@Nonnull String property) {
 		Validate.notNull(property, "property");
-		
-		if(validationErrors == null) {
-			return Collections.emptyList();
-		}
-		
-		final List<ValidationError> errors = validationErrors.get(property);
+
+		final List<ValidationError> errors = getPropertyErrors(property);
 		if(errors == null) {
 			return Collections.emptyList();
 		}
-		
+
 		final List<String> result = new ArrayList<>(errors.size());
 		for(ValidationError error : errors) {
 			result.add(error.getMessage());
@@ -98,6 +142,21 @@ public class ValidationResult {
 		return result;
 	}
 
+	/**
+	 * Returns errors for the concrete property.
+	 * @param property Property name.
+	 * @return Errors for the concrete property.
+	 */
+	public List<ValidationError> getValidationErrors(@Nonnull String property) {
+		Validate.notNull(property, "property");
+
+		final List<ValidationError> errors = getPropertyErrors(property);
+		if(errors == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(errors);
+	}
+
 	/**
 	 * Returns error flag for the concrete property.
 	 * @param property Property name.
@@ -105,28 +164,19 @@ public class ValidationResult {
 	 */
 	public boolean hasErrors(@Nonnull String property) {
 		Validate.notNull(property, "property");
-		
-		if(validationErrors == null) {
-			return false;
-		}
-		
-		final List<ValidationError> errors = validationErrors.get(property);
-		if(errors == null || errors.size() == 0) {
-			return false;
-		}
-		
-		return true;
+
+		return getPropertyErrors(property) != null;
 	}
-		
+
 	/**
 	 * Returns concatenated error messages for the concrete property.
 	 * @param property Property name.
 	 * @return Concatenated error messages for the concrete property.
 	 */
 	public String getErrors(String property) {
-		return getErrors(property, "%s.", " ");
+		return getErrors(property, DEFAULT_TEMPLATE, DEFAULT_SEPARATOR);
 	}
-	
+
 	/**
 	 * Returns concatenated error messages for the concrete property.
 	 * @param property Property name.
@@ -136,7 +186,7 @@ public class ValidationResult {
 	public String getErrors(String property, String template) {
 		return getErrors(property, template, StringUtils.EMPTY);
 	}
-	
+
 	/**
 	 * Returns concatenated error messages for the concrete property.
 	 * @param property Property name.
@@ -147,26 +197,27 @@ public class ValidationResult {
 	public String getErrors(String property, String template, String separator) {
 		Validate.notNull(property, "property");
 		Validate.notNull(template, "template");
-		
-		if(validationErrors == null) {
-			return StringUtils.EMPTY;
-		}
-		
-		final List<ValidationError> errors = validationErrors.get(property);
+
+		final List<ValidationError> errors = getPropertyErrors(property);
 		if(errors == null) {
 			return StringUtils.EMPTY;
 		}
-		
-		final StringBuilder errorMessages = new StringBuilder();
-		for(ValidationError error : errors) {
-			if(errorMessages.length() > 0 && StringUtils.isNoneEmpty(separator)) {
-				errorMessages.append(separator);
+
+		final RenderKey key = new RenderKey(property, template, separator);
+		if(renderedErrors != null) {
+			final String result = renderedErrors.get(key);
+			if(result != null) {
+				return result;
 			}
-			errorMessages.append(String.format(template, error.getMessage()));
+		} else {
+			renderedErrors = new HashMap<>();
 		}
-		return errorMessages.toString();
+
+		final String result = renderErrors(errors, template, separator);
+		renderedErrors.put(key, result);
+		return result;
 	}
-	
+
 	/**
 	 * @return List of properties with invalid values.
 	 */
@@ -174,22 +225,85 @@ public class ValidationResult {
 		if(validationErrors == null) {
 			return Collections.emptySet();
 		}
-		return validationErrors.keySet();
+		return Collections.unmodifiableSet(validationErrors.keySet());
 	}
 
 	public void addError(String property, String message) {
+		addError(property, new ValidationError(property, message));
+	}
+
+	protected void addError(String property, ValidationError error) {
 		if(validationErrors == null) {
-			validationErrors = new HashMap<>();
+			validationErrors = new LinkedHashMap<>();
 		}
-		
+
 		List<ValidationError> errors = validationErrors.get(property);
 		if(errors == null) {
-			errors = new ArrayList<>();
+			// NOTE Usually property has one or two errors.
+			errors = new ArrayList<>(2);
 			validationErrors.put(property, errors);
 		}
-		errors.add(new ValidationError(property, message));
-	}	
-	
+		errors.add(error);
+		renderedErrors = null;
+	}
+
+	/**
+	 * @param property Property name.
+	 * @return Errors of the property or null, if property has no errors.
+	 */
+	protected List<ValidationError> getPropertyErrors(String property) {
+		if(validationErrors == null) {
+			return null;
+		}
+		final List<ValidationError> errors = validationErrors.get(property);
+		return errors != null && errors.size() > 0 ? errors : null;
+	}
+
+	protected String renderErrors(List<ValidationError> errors, String template, String separator) {
+		// NOTE Most templates contain only message placeholder, so String.format is not needed.
+		final int placeholder = template.indexOf(MESSAGE_PLACEHOLDER);
+		final boolean simpleTemplate = placeholder >= 0
+				&& template.indexOf('%', placeholder + MESSAGE_PLACEHOLDER.length()) < 0
+				&& template.lastIndexOf('%', placeholder - 1) < 0;
+
+		final StringBuilder errorMessages = new StringBuilder();
+		for(ValidationError error : errors) {
+			if(errorMessages.length() > 0 && StringUtils.isNoneEmpty(separator)) {
+				errorMessages.append(separator);
+			}
+			if(simpleTemplate) {
+				errorMessages
+					.append(template, 0, placeholder)
+					.append(error.getMessage())
+					.append(template, placeholder + MESSAGE_PLACEHOLDER.length(), template.length());
+			} else {
+				errorMessages.append(String.format(template, error.getMessage()));
+			}
+		}
+		return errorMessages.toString();
+	}
+
+	protected String getPropertyName(ConstraintViolation<?> violation) {
+		final Class<?> rootBeanClass = violation.getRootBeanClass();
+		final Path path = violation.getPropertyPath();
+		// NOTE Default mapping is as cheap as building of the key, so it is not cached.
+		if(rootBeanClass == null || path == null || defaultPropertyNames.get(getClass())) {
+			return pathToPropertyName(path);
+		}
+
+		final ConcurrentHashMap<String, String> names = propertyNames.get(getClass());
+		final String key = toKey(rootBeanClass, path);
+		String propertyName = names.get(key);
+		if(propertyName == null) {
+			propertyName = pathToPropertyName(path);
+			if(names.size() >= PROPERTY_NAMES_CACHE_SIZE) {
+				names.clear();
+			}
+			names.put(key, propertyName);
+		}
+		return propertyName;
+	}
+
     protected String pathToPropertyName(Path path) {
     	final StringBuilder builder = new StringBuilder();
     	final Iterator<Node> iterator = path.iterator();
@@ -204,4 +318,53 @@ public class ValidationResult {
     	}
     	return builder.toString();
     }
+
+    /**
+     * @param rootBeanClass Class of validated bean.
+     * @param path Path of property.
+     * @return Key of property name, keys of map elements are compared by string representation.
+     */
+    private static String toKey(Class<?> rootBeanClass, Path path) {
+    	final StringBuilder builder = new StringBuilder(64).append(rootBeanClass.getName());
+    	for(Node node : path) {
+    		builder
+    			.append('/').append(node.getKind()).append(':').append(node.getName())
+    			.append('[').append(node.getIndex()).append(',').append(node.getKey()).append(']');
+    	}
+    	return builder.toString();
+    }
+
+    protected static final class RenderKey {
+
+    	private final String property;
+
+    	private final String template;
+
+    	private final String separator;
+
+		public RenderKey(String property, String template, String separator) {
+			this.property = property;
+			this.template = template;
+			this.separator = separator;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(property, template, separator);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof RenderKey)) {
+				return false;
+			}
+			final RenderKey other = (RenderKey)obj;
+			return property.equals(other.property)
+					&& template.equals(other.template)
+					&& Objects.equals(separator, other.separator);
+		}
+    }
 }
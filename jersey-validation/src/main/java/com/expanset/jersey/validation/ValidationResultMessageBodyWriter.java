@@ -9,6 +9,7 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.ContextResolver;
@@ -29,6 +30,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * {'fieldName': 'error description'} 
  * </pre>
  * <p>where 'fieldName' - property name.</p>
+ * <p>Array format is supported also, see {@link com.expanset.jersey.validation.ValidationFeature#ERRORS_FORMAT}.</p>
  */
 @Service
 @Produces(MediaType.APPLICATION_JSON)
@@ -36,12 +38,19 @@ public class ValidationResultMessageBodyWriter implements MessageBodyWriter<Vali
 
 	@Inject
     protected Providers providers;
+	
+	@Inject
+	protected Configuration config;
     
 	protected ObjectMapper mapper;
 	
-	private static final String ERROR_TEMPLATE = "%s.";
+	protected JsonFactory jsonFactory;
+	
+	protected boolean arrayFormat;
+	
+	private static final char ERROR_TERMINATOR = '.';
 	
-	private static final String ERROR_SEPARATOR = " ";
+	private static final char ERROR_SEPARATOR = ' ';
 	
 	@PostConstruct
 	public void initialize() {
@@ -53,11 +62,14 @@ public class ValidationResultMessageBodyWriter implements MessageBodyWriter<Vali
         if(mapper == null) {
         	mapper = JacksonUtils.createObjectMapper();
         }
+        jsonFactory = mapper.getFactory();
+        
+        arrayFormat = ValidationFeature.ERRORS_FORMAT_ARRAY.equals(config.getProperty(ValidationFeature.ERRORS_FORMAT));
 	}
 	
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
-    	return ValidationError.class.isAssignableFrom(type);
+    	return ValidationResult.class.isAssignableFrom(type);
     }
 
     @Override
@@ -81,17 +93,51 @@ public class ValidationResultMessageBodyWriter implements MessageBodyWriter<Vali
             OutputStream outStream) 
             		throws IOException, WebApplicationException {
     	if (validationResult != null && !validationResult.isSuccess()) {
-            final JsonFactory jsonFactory = new JsonFactory(mapper);
             final JsonGenerator generator = jsonFactory.createGenerator(outStream);
             try {
-            	generator.writeStartObject();
-            	for(String property : validationResult.getInvalidProperties()) {
-                    generator.writeStringField(property, validationResult.getErrors(property, ERROR_TEMPLATE, ERROR_SEPARATOR));
+            	if(arrayFormat) {
+            		writeArray(validationResult, generator);
+            	} else {
+            		writeObject(validationResult, generator);
             	}
-                generator.writeEndObject();
             } finally {
                 generator.close();
             }
         }
     }
+    
+    protected void writeObject(ValidationResult validationResult, JsonGenerator generator) 
+    		throws IOException {
+    	final StringBuilder messages = new StringBuilder();
+    	generator.writeStartObject();
+    	for(String property : validationResult.getInvalidProperties()) {
+    		messages.setLength(0);
+    		for(ValidationError error : validationResult.getValidationErrors(property)) {
+    			if(messages.length() > 0) {
+    				messages.append(ERROR_SEPARATOR);
+    			}
+    			messages.append(error.getMessage()).append(ERROR_TERMINATOR);
+    		}
+    		generator.writeStringField(property, messages.toString());
+    	}
+    	generator.writeEndObject();
+    }
+    
+    protected void writeArray(ValidationResult validationResult, JsonGenerator generator) 
+    		throws IOException {
+    	generator.writeStartArray();
+    	for(String property : validationResult.getInvalidProperties()) {
+    		for(ValidationError error : validationResult.getValidationErrors(property)) {
+    			generator.writeStartObject();
+    			generator.writeStringField("property", property);
+    			generator.writeStringField("message", error.getMessage());
+    			final String code = error.getCode();
+    			if(code != null) {
+    				generator.writeStringField("code", code);
+    			}
+    			generator.writeEndObject();
+    		}
+    	}
+    	generator.writeEndArray();
+    }
 }
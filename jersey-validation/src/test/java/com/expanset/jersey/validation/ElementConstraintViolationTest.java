@@ -0,0 +1,134 @@
+package com.expanset.jersey.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ElementKind;
+import javax.validation.Path;
+import javax.validation.Path.Node;
+
+import org.junit.Test;
+
+public class ElementConstraintViolationTest {
+
+	private final Object resource = new Object();
+
+	private final Object[] parameters = new Object[] { Collections.emptyList() };
+
+	private final List<Node> methodPath = Arrays.asList(
+			ElementConstraintViolation.methodNode("importItems", new Class<?>[] { List.class }),
+			ElementConstraintViolation.parameterNode("arg0", 0));
+
+	@Test
+	public void propertyPathIsPrefixedWithParameterAndIndex() {
+		final ConstraintViolation<?> violation = new ElementConstraintViolation<>(
+				violation("may not be null", node(ElementKind.PROPERTY, "name")), resource, parameters, methodPath, 3);
+
+		final List<Node> nodes = nodes(violation.getPropertyPath());
+		assertEquals(3, nodes.size());
+		assertEquals(ElementKind.METHOD, nodes.get(0).getKind());
+		assertEquals("importItems", nodes.get(0).getName());
+		assertEquals(Arrays.asList(List.class), nodes.get(0).as(Path.MethodNode.class).getParameterTypes());
+		assertEquals(ElementKind.PARAMETER, nodes.get(1).getKind());
+		assertEquals("arg0", nodes.get(1).getName());
+		assertEquals(0, nodes.get(1).as(Path.ParameterNode.class).getParameterIndex());
+		assertFalse(nodes.get(1).isInIterable());
+		assertEquals(ElementKind.PROPERTY, nodes.get(2).getKind());
+		assertEquals("name", nodes.get(2).getName());
+		assertTrue(nodes.get(2).isInIterable());
+		assertEquals(Integer.valueOf(3), nodes.get(2).getIndex());
+		assertEquals("importItems.arg0[3].name", violation.getPropertyPath().toString());
+	}
+
+	@Test
+	public void nestedPropertiesAreKept() {
+		final ConstraintViolation<?> violation = new ElementConstraintViolation<>(
+				violation("may not be null", node(ElementKind.PROPERTY, "address"), node(ElementKind.PROPERTY, "city")), 
+				resource, parameters, methodPath, 0);
+
+		assertEquals("importItems.arg0[0].address.city", violation.getPropertyPath().toString());
+		assertEquals(Collections.singleton("address.city"), result(violation).getInvalidProperties());
+	}
+
+	@Test
+	public void beanConstraintIsReportedForElement() {
+		final ConstraintViolation<?> violation = new ElementConstraintViolation<>(
+				violation("invalid item", node(ElementKind.BEAN, null)), resource, parameters, methodPath, 7);
+
+		final List<Node> nodes = nodes(violation.getPropertyPath());
+		assertEquals(ElementKind.BEAN, nodes.get(2).getKind());
+		assertNull(nodes.get(2).getName());
+		assertEquals(Integer.valueOf(7), nodes.get(2).getIndex());
+		assertEquals("importItems.arg0[7]", violation.getPropertyPath().toString());
+	}
+
+	@Test
+	public void rootIsResource() {
+		final ConstraintViolation<?> violation = new ElementConstraintViolation<>(
+				violation("may not be null", node(ElementKind.PROPERTY, "name")), resource, parameters, methodPath, 1);
+
+		assertSame(resource, violation.getRootBean());
+		assertEquals(Object.class, violation.getRootBeanClass());
+		assertSame(parameters, violation.getExecutableParameters());
+		assertEquals("may not be null", violation.getMessage());
+	}
+
+	private static ValidationResult result(ConstraintViolation<?> violation) {
+		final ValidationResult result = new ValidationResult();
+		result.setViolations(Collections.singleton(violation));
+		return result;
+	}
+
+	private static List<Node> nodes(Path path) {
+		final List<Node> nodes = new ArrayList<>();
+		final Iterator<Node> iterator = path.iterator();
+		while(iterator.hasNext()) {
+			nodes.add(iterator.next());
+		}
+		return nodes;
+	}
+
+	private static ConstraintViolation<?> violation(String message, Node... nodes) {
+		final Path path = () -> Arrays.asList(nodes).iterator();
+		return (ConstraintViolation<?>)Proxy.newProxyInstance(
+				ElementConstraintViolationTest.class.getClassLoader(), 
+				new Class<?>[] { ConstraintViolation.class }, 
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+						case "getMessage": return message;
+						case "getRootBeanClass": return Object.class;
+						case "getPropertyPath": return path;
+						case "hashCode": return System.identityHashCode(proxy);
+						case "equals": return proxy == args[0];
+						default: return null;
+					}
+				});
+	}
+
+	private static Node node(ElementKind kind, String name) {
+		return (Node)Proxy.newProxyInstance(
+				ElementConstraintViolationTest.class.getClassLoader(), 
+				new Class<?>[] { Node.class }, 
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+						case "getKind": return kind;
+						case "getName": return name;
+						case "isInIterable": return false;
+						case "hashCode": return System.identityHashCode(proxy);
+						case "equals": return proxy == args[0];
+						default: return null;
+					}
+				});
+	}
+}
@@ -0,0 +1,170 @@
+package com.expanset.jersey.validation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ElementKind;
+import javax.validation.Path;
+import javax.validation.Path.Node;
+
+import org.junit.Test;
+
+public class ValidationResultTest {
+
+	@Test
+	public void propertyNameIsBuiltFromPropertyNodes() {
+		final ValidationResult result = new ValidationResult();
+		result.setViolations(violations(
+				violation("must not be null", 
+						node(ElementKind.METHOD, "save", null), 
+						node(ElementKind.PARAMETER, "arg0", null),
+						node(ElementKind.PROPERTY, "address", null),
+						node(ElementKind.PROPERTY, "city", null))));
+
+		assertEquals(Collections.singleton("address.city"), result.getInvalidProperties());
+		assertEquals(Arrays.asList("must not be null"), result.getErrorList("address.city"));
+	}
+
+	@Test
+	public void elementsWithDifferentIndexesShareProperty() {
+		final ValidationResult result = new ValidationResult();
+		result.setViolations(violations(
+				violation("first", node(ElementKind.PROPERTY, "items", null), node(ElementKind.PROPERTY, "name", 0)),
+				violation("second", node(ElementKind.PROPERTY, "items", null), node(ElementKind.PROPERTY, "name", 1))));
+
+		assertEquals(Collections.singleton("items.name"), result.getInvalidProperties());
+		assertEquals(Arrays.asList("first", "second"), result.getErrorList("items.name"));
+		assertEquals("first. second.", result.getErrors("items.name"));
+	}
+
+	@Test
+	public void overriddenMappingIsCachedPerClass() {
+		final Node[] path = new Node[] { 
+				node(ElementKind.PROPERTY, "items", null), node(ElementKind.PROPERTY, "name", 3) };
+
+		final ValidationResult indexedResult = new IndexedValidationResult();
+		indexedResult.setViolations(violations(violation("error", path)));
+		final ValidationResult result = new ValidationResult();
+		result.setViolations(violations(violation("error", path)));
+		final ValidationResult otherIndexedResult = new IndexedValidationResult();
+		otherIndexedResult.setViolations(violations(
+				violation("error", node(ElementKind.PROPERTY, "items", null), node(ElementKind.PROPERTY, "name", 4))));
+
+		assertEquals(Collections.singleton("items[3].name"), indexedResult.getInvalidProperties());
+		assertEquals(Collections.singleton("items.name"), result.getInvalidProperties());
+		assertEquals(Collections.singleton("items[4].name"), otherIndexedResult.getInvalidProperties());
+	}
+
+	@Test
+	public void errorsAreVisibleToSubclasses() {
+		final CountingValidationResult result = new CountingValidationResult();
+		result.setViolations(violations(
+				violation("first", node(ElementKind.PROPERTY, "name", null)),
+				violation("second", node(ElementKind.PROPERTY, "name", null))));
+		assertEquals("first. second.", result.getErrors("name"));
+
+		result.addError("name", "third");
+
+		assertEquals(3, result.getErrorCount("name"));
+		assertEquals("first. second. third.", result.getErrors("name"));
+	}
+
+	public static class CountingValidationResult extends ValidationResult {
+
+		public int getErrorCount(String property) {
+			return validationErrors.get(property).size();
+		}
+	}
+
+	public static class IndexedValidationResult extends ValidationResult {
+
+		@Override
+		protected String pathToPropertyName(Path path) {
+			final StringBuilder builder = new StringBuilder();
+			for(Node node : path) {
+				if(node.getIndex() != null) {
+					builder.append('[').append(node.getIndex()).append(']');
+				}
+				if(builder.length() > 0) {
+					builder.append('.');
+				}
+				builder.append(node.getName());
+			}
+			return builder.toString();
+		}
+	}
+
+	private static Set<ConstraintViolation<?>> violations(ConstraintViolation<?>... violations) {
+		return new LinkedHashSet<>(Arrays.asList(violations));
+	}
+
+	private static ConstraintViolation<?> violation(String message, Node... nodes) {
+		final Path path = new TestPath(Arrays.asList(nodes));
+		return (ConstraintViolation<?>)Proxy.newProxyInstance(
+				ValidationResultTest.class.getClassLoader(), 
+				new Class<?>[] { ConstraintViolation.class }, 
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+						case "getMessage": return message;
+						case "getRootBeanClass": return ValidationResultTest.class;
+						case "getPropertyPath": return path;
+						case "hashCode": return System.identityHashCode(proxy);
+						case "equals": return proxy == args[0];
+						default: return null;
+					}
+				});
+	}
+
+	private static Node node(ElementKind kind, String name, Integer index) {
+		return (Node)Proxy.newProxyInstance(
+				ValidationResultTest.class.getClassLoader(), 
+				new Class<?>[] { Node.class }, 
+				(proxy, method, args) -> {
+					switch(method.getName()) {
+						case "getKind": return kind;
+						case "getName": return name;
+						case "getIndex": return index;
+						case "isInIterable": return index != null;
+						case "hashCode": return System.identityHashCode(proxy);
+						case "equals": return proxy == args[0];
+						default: return null;
+					}
+				});
+	}
+
+	/**
+	 * Path, which is equal to other paths with the same nodes, as paths of validator.
+	 */
+	private static class TestPath implements Path {
+
+		private final List<Node> nodes;
+
+		public TestPath(List<Node> nodes) {
+			this.nodes = new ArrayList<>(nodes);
+		}
+
+		@Override
+		public Iterator<Node> iterator() {
+			return nodes.iterator();
+		}
+
+		@Override
+		public int hashCode() {
+			return nodes.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestPath && nodes.equals(((TestPath)obj).nodes);
+		}
+	}
+}